@@ -0,0 +1,136 @@
+package com.etl.extract;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits raw UTF-8 line bytes into record fields.
+ * Mirrors {@code line.split(",")} semantics: a line without delimiters is a single
+ * field and trailing empty fields are dropped. Lines made only of whitespace are blank.
+ */
+final class ByteRecordParser {
+    
+    private static final String[] NO_FIELDS = new String[0];
+    
+    private final byte delimiter;
+    private byte[] scratch = new byte[256];
+    private int[] bounds = new int[16];
+    
+    /**
+     * Creates a parser that splits on a single-byte delimiter.
+     * 
+     * @param delimiter the ASCII field delimiter
+     */
+    ByteRecordParser(byte delimiter) {
+        this.delimiter = delimiter;
+    }
+    
+    /**
+     * Converts a delimiter character to the single byte that encodes it in UTF-8.
+     * 
+     * @param delimiter the field delimiter
+     * @return the delimiter byte
+     * @throws IllegalArgumentException if the delimiter is not ASCII or is a line terminator
+     */
+    static byte asciiDelimiter(char delimiter) {
+        if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Byte-level extraction needs an ASCII delimiter: " + (int) delimiter);
+        }
+        return (byte) delimiter;
+    }
+    
+    /**
+     * Checks whether a byte is a line terminator as understood by {@code readLine}.
+     * 
+     * @param b the byte to check
+     * @return true for carriage return or line feed
+     */
+    static boolean isLineTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+    
+    /**
+     * Checks whether a byte would be removed by {@link String#trim()}.
+     * UTF-8 multi-byte sequences never contain bytes in this range.
+     * 
+     * @param b the byte to check
+     * @return true for ASCII control characters and space
+     */
+    static boolean isWhitespace(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+    
+    /**
+     * Parses the bytes {@code [from, to)} of a buffer as one line.
+     * 
+     * @param buffer the buffer holding the line
+     * @param from index of the first byte of the line
+     * @param to index just past the last byte of the line
+     * @return the record fields, or null if the line is blank
+     */
+    String[] parse(ByteBuffer buffer, int from, int to) {
+        int length = to - from;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.position(from);
+        buffer.get(scratch, 0, length);
+        return parse(scratch, 0, length);
+    }
+    
+    /**
+     * Parses the bytes {@code [from, to)} of an array as one line.
+     * 
+     * @param bytes the array holding the line
+     * @param from index of the first byte of the line
+     * @param to index just past the last byte of the line
+     * @return the record fields, or null if the line is blank
+     */
+    String[] parse(byte[] bytes, int from, int to) {
+        boolean blank = true;
+        int count = 0;
+        int fieldStart = from;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (blank && !isWhitespace(b)) {
+                blank = false;
+            }
+            if (b == delimiter) {
+                count = addBound(count, fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        if (blank) {
+            return null;
+        }
+        count = addBound(count, fieldStart, to);
+        
+        // Drop trailing empty fields, as String.split does
+        int fields = count / 2;
+        if (fields > 1) {
+            while (fields > 0 && bounds[fields * 2 - 1] == bounds[fields * 2 - 2]) {
+                fields--;
+            }
+        }
+        if (fields == 0) {
+            return NO_FIELDS;
+        }
+        
+        String[] record = new String[fields];
+        for (int f = 0; f < fields; f++) {
+            int start = bounds[f * 2];
+            record[f] = new String(bytes, start, bounds[f * 2 + 1] - start, StandardCharsets.UTF_8);
+        }
+        return record;
+    }
+    
+    private int addBound(int count, int start, int end) {
+        if (count + 2 > bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[count] = start;
+        bounds[count + 1] = end;
+        return count + 2;
+    }
+}
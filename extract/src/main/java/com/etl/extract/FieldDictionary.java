@@ -0,0 +1,218 @@
+package com.etl.extract;
+
+import java.util.Arrays;
+
+/**
+ * Deduplicates field values so that equal values in a column share one String.
+ * Each column has its own open-addressing table holding at most a fixed number of
+ * distinct values. Tables start small and double as they fill, so the configured
+ * size caps the entries without reserving memory for them up front. Once a column
+ * is full, new values are returned as fresh Strings and only the values already
+ * seen keep being shared. Lookups from a character range hash and compare in place,
+ * so a hit allocates nothing at all.
+ * Not thread-safe.
+ */
+public final class FieldDictionary {
+    
+    /** Estimated size of a String object and its empty backing array, in bytes. */
+    private static final int STRING_OVERHEAD = 40;
+    
+    /** Largest supported number of distinct values per column. */
+    public static final int MAX_ENTRIES_PER_COLUMN = 1 << 24;
+    
+    private static final int INITIAL_TABLE_SIZE = 16;
+    
+    private final int maxEntriesPerColumn;
+    private final int maxTableSize;
+    private String[][] tables = new String[0][];
+    private int[] sizes = new int[0];
+    private long lookups;
+    private long hits;
+    private long bytesSaved;
+    
+    /**
+     * Creates a dictionary.
+     * 
+     * @param maxEntriesPerColumn maximum number of distinct values kept per column
+     */
+    public FieldDictionary(int maxEntriesPerColumn) {
+        if (maxEntriesPerColumn <= 0 || maxEntriesPerColumn > MAX_ENTRIES_PER_COLUMN) {
+            throw new IllegalArgumentException("Dictionary size must be between 1 and " + MAX_ENTRIES_PER_COLUMN
+                    + ": " + maxEntriesPerColumn);
+        }
+        this.maxEntriesPerColumn = maxEntriesPerColumn;
+        // Keep tables at most half full so probe sequences stay short
+        this.maxTableSize = Integer.highestOneBit(Math.max(2, maxEntriesPerColumn) - 1) << 2;
+    }
+    
+    /**
+     * Returns the shared instance of a value given as a character range.
+     * 
+     * @param column zero-based column the value belongs to
+     * @param chars the characters
+     * @param from index of the first character
+     * @param to index after the last character
+     * @return a String equal to the range, shared with earlier equal values when possible
+     */
+    public String intern(int column, char[] chars, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        String[] table = table(column);
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        lookups++;
+        String entry;
+        while ((entry = table[slot]) != null) {
+            if (entry.hashCode() == hash && matches(entry, chars, from, to)) {
+                recordHit(entry);
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String value = new String(chars, from, to - from);
+        insert(column, table, slot, value);
+        return value;
+    }
+    
+    /**
+     * Returns the shared instance of a value.
+     * 
+     * @param column zero-based column the value belongs to
+     * @param value the value
+     * @return an equal String, shared with earlier equal values when possible
+     */
+    public String intern(int column, String value) {
+        int hash = value.hashCode();
+        String[] table = table(column);
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        lookups++;
+        String entry;
+        while ((entry = table[slot]) != null) {
+            if (entry.hashCode() == hash && entry.equals(value)) {
+                if (entry != value) {
+                    recordHit(entry);
+                } else {
+                    hits++;
+                }
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(column, table, slot, value);
+        return value;
+    }
+    
+    private String[] table(int column) {
+        if (column >= tables.length) {
+            int length = Math.max(column + 1, tables.length * 2);
+            tables = Arrays.copyOf(tables, length);
+            sizes = Arrays.copyOf(sizes, length);
+        }
+        String[] table = tables[column];
+        if (table == null) {
+            table = new String[Math.min(INITIAL_TABLE_SIZE, maxTableSize)];
+            tables[column] = table;
+        }
+        return table;
+    }
+    
+    private void insert(int column, String[] table, int slot, String value) {
+        if (sizes[column] < maxEntriesPerColumn) {
+            table[slot] = value;
+            sizes[column]++;
+            if (sizes[column] * 2 > table.length && table.length < maxTableSize) {
+                tables[column] = grow(table);
+            }
+        }
+    }
+    
+    private static String[] grow(String[] table) {
+        String[] grown = new String[table.length * 2];
+        int mask = grown.length - 1;
+        for (String entry : table) {
+            if (entry != null) {
+                int slot = spread(entry.hashCode()) & mask;
+                while (grown[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = entry;
+            }
+        }
+        return grown;
+    }
+    
+    private void recordHit(String entry) {
+        hits++;
+        bytesSaved += STRING_OVERHEAD + ((entry.length() + 7) & ~7);
+    }
+    
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+    
+    private static boolean matches(String entry, char[] chars, int from, int to) {
+        if (entry.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (entry.charAt(i - from) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the number of values looked up.
+     * 
+     * @return lookups so far
+     */
+    public long getLookupCount() {
+        return lookups;
+    }
+    
+    /**
+     * Gets the fraction of lookups answered with a shared instance.
+     * 
+     * @return hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    /**
+     * Estimates the heap saved by sharing values, assuming one byte per character
+     * and a fixed per-String overhead for every duplicate that was not kept.
+     * 
+     * @return estimated bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved;
+    }
+    
+    /**
+     * Gets the number of slots currently allocated for a column.
+     * 
+     * @param column zero-based column
+     * @return table length, or 0 if the column has not been used
+     */
+    int getCapacity(int column) {
+        return column < tables.length && tables[column] != null ? tables[column].length : 0;
+    }
+    
+    /**
+     * Gets the number of distinct values held across all columns.
+     * 
+     * @return dictionary entries
+     */
+    public int getEntryCount() {
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+}
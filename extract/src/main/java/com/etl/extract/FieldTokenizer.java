@@ -0,0 +1,258 @@
+package com.etl.extract;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits a line into fields by scanning for a single delimiter character.
+ * Only field boundaries are recorded; the characters stay in the caller's buffer
+ * until a field is explicitly requested as a String. One tokenizer is meant to be
+ * reused for every line of a file, so steady-state tokenizing allocates nothing.
+ * Field counting follows {@code String.split} rules: trailing empty fields are dropped.
+ */
+public final class FieldTokenizer {
+    
+    private final char delimiter;
+    private char[] chars;
+    private char[] scratch = new char[256];
+    private int[] bounds = new int[32];
+    private int fields;
+    private boolean blank;
+    
+    /**
+     * Creates a tokenizer for comma-separated lines.
+     */
+    public FieldTokenizer() {
+        this(',');
+    }
+    
+    /**
+     * Creates a tokenizer for the given delimiter, e.g. {@code '\t'} or {@code '|'}.
+     * The delimiter is matched literally, never as a regular expression.
+     * 
+     * @param delimiter the field delimiter
+     */
+    public FieldTokenizer(char delimiter) {
+        this.delimiter = delimiter;
+    }
+    
+    /**
+     * Gets the delimiter this tokenizer splits on.
+     * 
+     * @return the field delimiter
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+    
+    /**
+     * Tokenizes a line held in a String, copying it into an internal reusable buffer.
+     * 
+     * @param line the line to tokenize
+     * @return this tokenizer
+     */
+    public FieldTokenizer reset(String line) {
+        int length = line.length();
+        if (scratch.length < length) {
+            scratch = new char[Math.max(length, scratch.length * 2)];
+        }
+        line.getChars(0, length, scratch, 0);
+        return reset(scratch, 0, length);
+    }
+    
+    /**
+     * Tokenizes the characters {@code [from, to)} of a buffer in place.
+     * The buffer must not be modified while fields of this line are in use.
+     * 
+     * @param chars the buffer holding the line
+     * @param from index of the first character of the line
+     * @param to index just past the last character of the line
+     * @return this tokenizer
+     */
+    public FieldTokenizer reset(char[] chars, int from, int to) {
+        this.chars = chars;
+        boolean sawContent = false;
+        int count = 0;
+        int fieldStart = from;
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            if (!sawContent && c > ' ') {
+                sawContent = true;
+            }
+            if (c == delimiter) {
+                count = addBound(count, fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        count = addBound(count, fieldStart, to);
+        
+        blank = !sawContent;
+        fields = count / 2;
+        if (fields > 1) {
+            // Drop trailing empty fields, as String.split does
+            while (fields > 0 && bounds[fields * 2 - 1] == bounds[fields * 2 - 2]) {
+                fields--;
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Checks whether the current line is empty or only whitespace.
+     * 
+     * @return true if {@code line.trim().isEmpty()} would hold
+     */
+    public boolean isBlank() {
+        return blank;
+    }
+    
+    /**
+     * Gets the number of fields in the current line.
+     * 
+     * @return field count
+     */
+    public int fieldCount() {
+        return fields;
+    }
+    
+    /**
+     * Gets the buffer the field offsets refer to.
+     * 
+     * @return the character buffer of the current line
+     */
+    public char[] buffer() {
+        return chars;
+    }
+    
+    /**
+     * Gets the start offset of a field within {@link #buffer()}.
+     * 
+     * @param index the field index
+     * @return offset of the first character of the field
+     */
+    public int fieldStart(int index) {
+        checkIndex(index);
+        return bounds[index * 2];
+    }
+    
+    /**
+     * Gets the end offset of a field within {@link #buffer()}.
+     * 
+     * @param index the field index
+     * @return offset just past the last character of the field
+     */
+    public int fieldEnd(int index) {
+        checkIndex(index);
+        return bounds[index * 2 + 1];
+    }
+    
+    /**
+     * Gets the length of a field.
+     * 
+     * @param index the field index
+     * @return number of characters in the field
+     */
+    public int fieldLength(int index) {
+        return fieldEnd(index) - fieldStart(index);
+    }
+    
+    /**
+     * Materializes a field as a String.
+     * 
+     * @param index the field index
+     * @return the field value
+     */
+    public String field(int index) {
+        int start = fieldStart(index);
+        return new String(chars, start, bounds[index * 2 + 1] - start);
+    }
+    
+    /**
+     * Gets a field as a view over the line buffer without copying characters.
+     * The view is only valid until the tokenizer is reset.
+     * 
+     * @param index the field index
+     * @return a read-only view of the field
+     */
+    public CharSequence fieldView(int index) {
+        int start = fieldStart(index);
+        return CharBuffer.wrap(chars, start, bounds[index * 2 + 1] - start).asReadOnlyBuffer();
+    }
+    
+    /**
+     * Compares a field with a value without materializing the field.
+     * 
+     * @param index the field index
+     * @param value the value to compare with
+     * @return true if the field has exactly the same characters
+     */
+    public boolean fieldEquals(int index, CharSequence value) {
+        int start = fieldStart(index);
+        int length = bounds[index * 2 + 1] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Materializes every field of the current line.
+     * 
+     * @return the record fields, equal to {@code line.split(delimiter)}
+     */
+    public String[] toArray() {
+        String[] record = new String[fields];
+        for (int i = 0; i < fields; i++) {
+            int start = bounds[i * 2];
+            record[i] = new String(chars, start, bounds[i * 2 + 1] - start);
+        }
+        return record;
+    }
+    
+    /**
+     * Copies every field into a new array, sharing repeated values through a dictionary.
+     * Field {@code i} is looked up in column {@code i} of the dictionary.
+     * 
+     * @param dictionary the dictionary holding shared values
+     * @return the fields of the current line
+     */
+    public String[] toArray(FieldDictionary dictionary) {
+        String[] record = new String[fields];
+        for (int i = 0; i < fields; i++) {
+            record[i] = dictionary.intern(i, chars, bounds[i * 2], bounds[i * 2 + 1]);
+        }
+        return record;
+    }
+    
+    /**
+     * Gets a field, sharing repeated values through a dictionary.
+     * 
+     * @param index the field index
+     * @param dictionary the dictionary holding shared values; the field index is its column
+     * @return the field value
+     */
+    public String field(int index, FieldDictionary dictionary) {
+        int start = fieldStart(index);
+        return dictionary.intern(index, chars, start, bounds[index * 2 + 1]);
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fields) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of range for " + fields + " fields");
+        }
+    }
+    
+    private int addBound(int count, int start, int end) {
+        if (count + 2 > bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[count] = start;
+        bounds[count + 1] = end;
+        return count + 2;
+    }
+}
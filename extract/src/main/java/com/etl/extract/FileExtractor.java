@@ -1,10 +1,30 @@
 package com.etl.extract;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Extracts data from a file.
@@ -12,8 +32,61 @@ import java.util.List;
  */
 public class FileExtractor {
     
+    private static final int LINE_BUFFER_SIZE = 8192;
+    
+    private final char delimiter;
+    private final int readAheadBuffers;
+    private final int readAheadBufferSize;
+    
+    /**
+     * Creates an extractor for comma-separated files.
+     */
+    public FileExtractor() {
+        this(',');
+    }
+    
+    /**
+     * Creates an extractor for files separated by another delimiter, such as
+     * {@code '\t'} for TSV or {@code '|'} for pipe-separated feeds.
+     * 
+     * @param delimiter the field delimiter, matched literally
+     */
+    public FileExtractor(char delimiter) {
+        this(delimiter, 0, 0);
+    }
+    
     /**
-     * Reads lines from a CSV file.
+     * Creates an extractor that reads files with asynchronous read-ahead, so the
+     * next chunks are fetched from disk while the current one is tokenized. This
+     * helps on network-backed or spinning volumes where every refill would stall.
+     * Read-ahead applies to the character-based paths; the memory-mapped and
+     * parallel paths read through their own channels.
+     * 
+     * @param delimiter the field delimiter, matched literally
+     * @param readAheadBuffers number of chunks kept in flight, or 0 to read synchronously
+     * @param readAheadBufferSize size of each chunk, in bytes
+     * @see ReadAheadInputStream
+     */
+    public FileExtractor(char delimiter, int readAheadBuffers, int readAheadBufferSize) {
+        if (readAheadBuffers < 0 || (readAheadBuffers > 0 && readAheadBufferSize <= 0)) {
+            throw new IllegalArgumentException("Read-ahead buffer count and size must be positive");
+        }
+        this.delimiter = delimiter;
+        this.readAheadBuffers = readAheadBuffers;
+        this.readAheadBufferSize = readAheadBufferSize;
+    }
+    
+    /**
+     * Gets the field delimiter.
+     * 
+     * @return the delimiter character
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+    
+    /**
+     * Reads lines from a CSV file. Gzip-compressed files are decompressed transparently.
      * 
      * @param filePath the path to the file
      * @return list of data records
@@ -21,30 +94,493 @@ public class FileExtractor {
      */
     public List<String[]> extractFromFile(String filePath) throws IOException {
         List<String[]> records = new ArrayList<>();
+        forEachRecord(filePath, records::add);
+        return records;
+    }
+    
+    /**
+     * Reads a CSV file and hands each record to the consumer as soon as it is parsed.
+     * No records are retained, so memory usage does not grow with file size.
+     * 
+     * @param filePath the path to the file
+     * @param consumer receives each non-empty record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachRecord(String filePath, Consumer<String[]> consumer) throws IOException {
+        return forEachLine(filePath, tokenizer -> consumer.accept(tokenizer.toArray()));
+    }
+    
+    /**
+     * Reads a CSV file and hands each non-empty line to the consumer as a tokenized view.
+     * Lines are scanned directly in a reusable character buffer, so no String is created
+     * unless the consumer asks for a field. The tokenizer is reused for the next line
+     * and must not be retained.
+     * 
+     * @param filePath the path to the file
+     * @param consumer receives the tokenizer positioned on each non-empty line
+     * @return number of lines delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachLine(String filePath, Consumer<FieldTokenizer> consumer) throws IOException {
+        return scanLines(filePath, tokenizer -> {
+            consumer.accept(tokenizer);
+            return true;
+        });
+    }
+    
+    /**
+     * Scans the non-empty lines of a file until the visitor asks to stop.
+     * Stopping closes the file without reading the rest of it.
+     * 
+     * @param filePath the path to the file
+     * @param visitor receives each non-empty line; returns false to stop reading
+     * @return number of lines visited
+     * @throws IOException if file reading fails
+     */
+    private int scanLines(String filePath, Predicate<FieldTokenizer> visitor) throws IOException {
+        FieldTokenizer tokenizer = new FieldTokenizer(delimiter);
+        char[] buffer = new char[LINE_BUFFER_SIZE];
+        int count = 0;
         
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    continue;
+        try (Reader reader = openReader(filePath)) {
+            int filled = 0;
+            int read;
+            while ((read = reader.read(buffer, filled, buffer.length - filled)) != -1) {
+                int scanFrom = filled;
+                filled += read;
+                int lineStart = 0;
+                for (int i = scanFrom; i < filled; i++) {
+                    char c = buffer[i];
+                    if (c == '\n' || c == '\r') {
+                        tokenizer.reset(buffer, lineStart, i);
+                        lineStart = i + 1;
+                        // Skip empty lines
+                        if (!tokenizer.isBlank()) {
+                            count++;
+                            if (!visitor.test(tokenizer)) {
+                                return count;
+                            }
+                        }
+                    }
+                }
+                
+                // Move the unfinished line to the front, growing the buffer if it is full
+                filled -= lineStart;
+                System.arraycopy(buffer, lineStart, buffer, 0, filled);
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
                 }
-                String[] values = line.split(",");
-                records.add(values);
+            }
+            if (!tokenizer.reset(buffer, 0, filled).isBlank()) {
+                count++;
+                visitor.test(tokenizer);
             }
         }
         
+        return count;
+    }
+    
+    /**
+     * Reads only the selected columns of a CSV file.
+     * Unselected fields are skipped by offset and never turned into Strings.
+     * 
+     * @param filePath the path to the file
+     * @param columns zero-based indexes of the columns to keep, in output order
+     * @return list of compact records holding only the selected columns
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractColumns(String filePath, int... columns) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachProjectedRecord(filePath, columns, records::add);
+        return records;
+    }
+    
+    /**
+     * Streams compact records holding only the selected columns to the consumer.
+     * A column missing from a short line is returned as an empty string, the same
+     * as an empty trailing field, so every record has {@code columns.length} fields.
+     * 
+     * @param filePath the path to the file
+     * @param columns zero-based indexes of the columns to keep, in output order
+     * @param consumer receives each projected record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachProjectedRecord(String filePath, int[] columns, Consumer<String[]> consumer)
+            throws IOException {
+        return forEachMatchingRecord(filePath, RecordPredicate.all(), columns, consumer);
+    }
+    
+    /**
+     * Reads the records of a CSV file that match a predicate.
+     * The predicate runs on the tokenized line, so rejected lines allocate nothing.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to keep
+     * @return list of matching data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractMatching(String filePath, RecordPredicate predicate) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachMatchingRecord(filePath, predicate, null, records::add);
+        return records;
+    }
+    
+    /**
+     * Streams the records of a CSV file that match a predicate, optionally projected
+     * to a subset of columns. Filtering happens before any field becomes a String.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to keep
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param consumer receives each matching record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachMatchingRecord(String filePath, RecordPredicate predicate, int[] columns,
+                                     Consumer<String[]> consumer) throws IOException {
+        return forEachMatchingRecordInterned(filePath, predicate, columns, null, consumer);
+    }
+    
+    /**
+     * Reads a CSV file, sharing repeated field values through a dictionary.
+     * Useful for low-cardinality columns, where most fields become references to
+     * a handful of shared Strings instead of separate copies.
+     * 
+     * @param filePath the path to the file
+     * @param dictionary the dictionary holding shared values
+     * @return list of data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractFromFile(String filePath, FieldDictionary dictionary) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachMatchingRecordInterned(filePath, RecordPredicate.all(), null, dictionary, records::add);
+        return records;
+    }
+    
+    /**
+     * Streams the matching records of a CSV file, optionally projected to a subset of
+     * columns and with repeated values shared through a dictionary. Dictionary columns
+     * are the column positions in the file, not in the projected record.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to keep
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param dictionary the dictionary holding shared values, or null to copy every field
+     * @param consumer receives each matching record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachMatchingRecordInterned(String filePath, RecordPredicate predicate, int[] columns,
+                                             FieldDictionary dictionary, Consumer<String[]> consumer)
+            throws IOException {
+        checkColumns(columns);
+        int[] count = new int[1];
+        forEachLine(filePath, tokenizer -> {
+            if (predicate.test(tokenizer)) {
+                consumer.accept(columns == null
+                        ? (dictionary == null ? tokenizer.toArray() : tokenizer.toArray(dictionary))
+                        : project(tokenizer, columns, dictionary));
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+    
+    /**
+     * Reads at most the first {@code limit} records of a CSV file.
+     * Reading stops as soon as the limit is reached, so the cost does not depend
+     * on the size of the file.
+     * 
+     * @param filePath the path to the file
+     * @param limit maximum number of records to return
+     * @return list of the first data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractHead(String filePath, int limit) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachMatchingRecordLimited(filePath, RecordPredicate.all(), null, limit, records::add);
+        return records;
+    }
+    
+    /**
+     * Streams at most {@code limit} matching records to the consumer, then stops reading.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to keep
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param limit maximum number of records to deliver
+     * @param consumer receives each matching record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachMatchingRecordLimited(String filePath, RecordPredicate predicate, int[] columns, int limit,
+                                            Consumer<String[]> consumer) throws IOException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        checkColumns(columns);
+        if (limit == 0) {
+            return 0;
+        }
+        int[] count = new int[1];
+        scanLines(filePath, tokenizer -> {
+            if (predicate.test(tokenizer)) {
+                consumer.accept(columns == null ? tokenizer.toArray() : project(tokenizer, columns));
+                count[0]++;
+            }
+            return count[0] < limit;
+        });
+        return count[0];
+    }
+    
+    /**
+     * Reads a uniform random sample of records from a CSV file in one pass.
+     * Memory use is bounded by the sample size, and records that do not enter the
+     * sample are never split into fields.
+     * 
+     * @param filePath the path to the file
+     * @param size number of records to sample
+     * @param seed random seed; the same seed and file give the same sample
+     * @return the sampled records in file order
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractSample(String filePath, int size, long seed) throws IOException {
+        ReservoirSampler<String[]> sampler = new ReservoirSampler<>(size, seed);
+        sampleMatchingRecords(filePath, RecordPredicate.all(), null, sampler);
+        return sampler.getSample();
+    }
+    
+    /**
+     * Offers every matching record of a CSV file to a sampler. The sampler may be
+     * shared across several files to sample them as one input.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines are eligible
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param sampler receives the matching records
+     * @throws IOException if file reading fails
+     */
+    public void sampleMatchingRecords(String filePath, RecordPredicate predicate, int[] columns,
+                                      ReservoirSampler<String[]> sampler) throws IOException {
+        checkColumns(columns);
+        Function<FieldTokenizer, String[]> converter = columns == null
+                ? FieldTokenizer::toArray
+                : tokenizer -> project(tokenizer, columns);
+        forEachLine(filePath, tokenizer -> {
+            if (predicate.test(tokenizer)) {
+                sampler.offer(tokenizer, converter);
+            }
+        });
+    }
+    
+    private static void checkColumns(int[] columns) {
+        if (columns != null) {
+            for (int column : columns) {
+                if (column < 0) {
+                    throw new IllegalArgumentException("Column index must not be negative: " + column);
+                }
+            }
+        }
+    }
+    
+    static String[] project(FieldTokenizer tokenizer, int[] columns) {
+        return project(tokenizer, columns, null);
+    }
+    
+    private static String[] project(FieldTokenizer tokenizer, int[] columns, FieldDictionary dictionary) {
+        String[] record = new String[columns.length];
+        int fieldCount = tokenizer.fieldCount();
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] >= fieldCount) {
+                record[i] = "";
+            } else {
+                record[i] = dictionary == null ? tokenizer.field(columns[i]) : tokenizer.field(columns[i], dictionary);
+            }
+        }
+        return record;
+    }
+    
+    /**
+     * Reads a CSV file that may contain RFC 4180 quoted fields.
+     * Quoted fields can hold delimiters, doubled quotes and line breaks, so one
+     * record may span several lines. Trailing empty fields are preserved.
+     * 
+     * @param filePath the path to the file
+     * @return list of data records
+     * @throws IOException if file reading fails or a quoted field is not closed
+     */
+    public List<String[]> extractFromFileQuoted(String filePath) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (Reader reader = openReader(filePath)) {
+            new QuotedCsvParser(delimiter).parse(reader, records::add);
+        }
         return records;
     }
     
+    /**
+     * Reads a CSV file through a memory-mapped byte scanner instead of a Reader.
+     * Produces the same records as {@link #extractFromFile(String)}, since both decode
+     * UTF-8, with less decoding work and garbage per line.
+     * 
+     * @param filePath the path to the file
+     * @return list of data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractFromFileMapped(String filePath) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        new MappedFileReader(MappedFileReader.DEFAULT_WINDOW_SIZE, delimiter).forEachRecord(filePath, records::add);
+        return records;
+    }
+    
+    /**
+     * Reads a CSV file on all available cores and returns the records in file order.
+     * 
+     * @param filePath the path to the file
+     * @return list of data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractFromFileParallel(String filePath) throws IOException {
+        return extractFromFileParallel(filePath, true);
+    }
+    
+    /**
+     * Reads a CSV file on all available cores.
+     * 
+     * @param filePath the path to the file
+     * @param ordered whether records must keep their file order; unordered is faster
+     * @return list of data records
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extractFromFileParallel(String filePath, boolean ordered) throws IOException {
+        ParallelFileReader reader = new ParallelFileReader(
+                ForkJoinPool.commonPool(), ParallelFileReader.DEFAULT_MIN_CHUNK_SIZE, delimiter);
+        if (ordered) {
+            return reader.extract(filePath);
+        }
+        Queue<String[]> records = new ConcurrentLinkedQueue<>();
+        reader.forEachRecordUnordered(filePath, records::add);
+        return new ArrayList<>(records);
+    }
+    
+    /**
+     * Opens a lazy iterator over the records of a CSV file.
+     * The caller must close the iterator when done.
+     * 
+     * @param filePath the path to the file
+     * @return an iterator that reads one record at a time
+     * @throws IOException if the file cannot be opened
+     */
+    public RecordIterator openRecords(String filePath) throws IOException {
+        return new RecordIterator(new BufferedReader(openReader(filePath)), delimiter);
+    }
+    
+    /**
+     * Opens a lazy iterator over the matching records of a CSV file, optionally
+     * projected to a subset of columns. The caller must close the iterator when done.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to return
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @return an iterator that reads one matching record at a time
+     * @throws IOException if the file cannot be opened
+     */
+    public RecordIterator openRecords(String filePath, RecordPredicate predicate, int[] columns)
+            throws IOException {
+        checkColumns(columns);
+        return new RecordIterator(new BufferedReader(openReader(filePath)), delimiter, predicate, columns);
+    }
+    
+    /**
+     * Publishes the records of a CSV file in batches, reading only as fast as the
+     * subscriber requests. Each subscription reads the file independently on the
+     * given executor. Reads block, so pass an executor of its own rather than a
+     * shared computation pool such as the common fork/join pool.
+     * 
+     * @param filePath the path to the file
+     * @param executor runs the reading and signals of each subscription
+     * @return a publisher of record batches
+     * @see RecordPublisher
+     */
+    public Flow.Publisher<List<String[]>> publishRecords(String filePath, Executor executor) {
+        return publishRecords(filePath, RecordPredicate.all(), null, RecordPublisher.DEFAULT_BATCH_SIZE, executor);
+    }
+    
+    /**
+     * Publishes the matching records of a CSV file in batches, reading only as fast
+     * as the subscriber requests.
+     * 
+     * @param filePath the path to the file
+     * @param predicate decides which lines to publish
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param batchSize maximum number of records per batch
+     * @param executor runs the reading and signals of each subscription
+     * @return a publisher of record batches
+     */
+    public Flow.Publisher<List<String[]>> publishRecords(String filePath, RecordPredicate predicate, int[] columns,
+                                                         int batchSize, Executor executor) {
+        checkColumns(columns);
+        return new RecordPublisher(() -> openRecords(filePath, predicate, columns), batchSize, executor);
+    }
+    
+    /**
+     * Opens a file for character reading. Gzip-compressed files are recognised by
+     * their magic number and inflated on a background thread while the caller parses.
+     * In read-ahead mode the file itself is fetched asynchronously as well.
+     * Content is always decoded as UTF-8, like the byte-level readers, so the
+     * platform default charset never changes field values.
+     * 
+     * @param filePath the path to the file
+     * @return a reader over the (decompressed) file content
+     * @throws IOException if the file cannot be opened
+     */
+    private Reader openReader(String filePath) throws IOException {
+        InputStream source = readAheadBuffers > 0
+                ? new ReadAheadInputStream(Path.of(filePath), readAheadBuffers, readAheadBufferSize)
+                : new FileInputStream(filePath);
+        InputStream in = new BufferedInputStream(source);
+        try {
+            if (PipelinedGzipInputStream.isGzip(in)) {
+                in = new PipelinedGzipInputStream(in);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Opens a lazy, sequential stream over the records of a CSV file.
+     * The stream should be used in a try-with-resources block so the file is closed.
+     * 
+     * @param filePath the path to the file
+     * @return a stream of records backed by the file
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<String[]> streamRecords(String filePath) throws IOException {
+        RecordIterator iterator = openRecords(filePath);
+        Spliterator<String[]> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
     /**
      * Gets the count of records extracted.
+     * Counts non-empty lines from raw bytes without parsing any fields.
      * 
      * @param filePath the path to the file
      * @return number of records
      * @throws IOException if file reading fails
      */
     public int getRecordCount(String filePath) throws IOException {
-        return extractFromFile(filePath).size();
+        return Math.toIntExact(new RecordCounter().count(filePath));
     }
 }
@@ -0,0 +1,200 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Extracts only the records appended to a file since the previous run.
+ * After each run the offset just past the last complete line is saved to a
+ * checkpoint file together with the source's size, modification time and a CRC of
+ * its first bytes. The next run seeks straight to that offset, so run time follows
+ * the amount of new data rather than the total file size. If the head of the file no
+ * longer matches, or it shrank, the file is assumed to be replaced and is read from
+ * the start. A trailing line without a terminator is left for the next run, since
+ * the writer may still be appending to it.
+ */
+public class IncrementalExtractor {
+    
+    /** Number of leading bytes hashed to recognise the same file across runs. */
+    static final int HEAD_HASH_BYTES = 4096;
+    
+    private static final int TAIL_PROBE_SIZE = 8192;
+    
+    private final Path checkpointFile;
+    private final MappedFileReader reader;
+    
+    /**
+     * Creates an incremental extractor for comma-separated files.
+     * 
+     * @param checkpointFile where offsets are persisted between runs
+     */
+    public IncrementalExtractor(Path checkpointFile) {
+        this(checkpointFile, ',');
+    }
+    
+    /**
+     * Creates an incremental extractor with a custom delimiter.
+     * 
+     * @param checkpointFile where offsets are persisted between runs
+     * @param delimiter the field delimiter; must be an ASCII character
+     */
+    public IncrementalExtractor(Path checkpointFile, char delimiter) {
+        this.checkpointFile = checkpointFile;
+        this.reader = new MappedFileReader(MappedFileReader.DEFAULT_WINDOW_SIZE, delimiter);
+    }
+    
+    /**
+     * Reads the records appended since the last checkpoint and advances the checkpoint.
+     * 
+     * @param filePath the path to the append-only file
+     * @return list of new data records
+     * @throws IOException if reading the file or the checkpoint fails
+     */
+    public List<String[]> extractNew(String filePath) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachNewRecord(filePath, records::add);
+        return records;
+    }
+    
+    /**
+     * Streams the records appended since the last checkpoint to the consumer.
+     * The checkpoint only advances after the consumer has accepted every record,
+     * so a failed run is retried from the same offset.
+     * 
+     * @param filePath the path to the append-only file
+     * @param consumer receives each new record in file order
+     * @return number of records delivered
+     * @throws IOException if reading the file or the checkpoint fails
+     */
+    public int forEachNewRecord(String filePath, Consumer<String[]> consumer) throws IOException {
+        Path source = Path.of(filePath).toAbsolutePath();
+        String key = source.toString();
+        Properties checkpoints = loadCheckpoints();
+        
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedFileReader.rejectCompressed(channel, filePath);
+            long size = channel.size();
+            long modified = Files.getLastModifiedTime(source).toMillis();
+            long start = resumeOffset(checkpoints, key, channel, size, modified);
+            if (start == size) {
+                return 0;
+            }
+            
+            long end = lastLineEnd(channel, start, size);
+            int count = end > start ? reader.forEachRecord(channel, start, end, consumer) : 0;
+            
+            checkpoints.setProperty(key + ".offset", Long.toString(end));
+            checkpoints.setProperty(key + ".size", Long.toString(size));
+            checkpoints.setProperty(key + ".mtime", Long.toString(modified));
+            checkpoints.setProperty(key + ".headHash", Long.toString(headHash(channel, end)));
+            storeCheckpoints(checkpoints);
+            return count;
+        }
+    }
+    
+    /**
+     * Gets the saved offset for a file, or zero if there is no usable checkpoint.
+     * 
+     * @param filePath the path to the file
+     * @return the byte offset the next run will start from
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public long getCheckpointOffset(String filePath) throws IOException {
+        String offset = loadCheckpoints().getProperty(Path.of(filePath).toAbsolutePath() + ".offset");
+        return offset == null ? 0 : Long.parseLong(offset);
+    }
+    
+    private long resumeOffset(Properties checkpoints, String key, FileChannel channel, long size, long modified)
+            throws IOException {
+        String savedOffset = checkpoints.getProperty(key + ".offset");
+        if (savedOffset == null) {
+            return 0;
+        }
+        long offset = Long.parseLong(savedOffset);
+        long savedSize = Long.parseLong(checkpoints.getProperty(key + ".size", "-1"));
+        long savedModified = Long.parseLong(checkpoints.getProperty(key + ".mtime", "-1"));
+        long savedHash = Long.parseLong(checkpoints.getProperty(key + ".headHash", "-1"));
+        
+        if (size < offset || size < savedSize || headHash(channel, offset) != savedHash) {
+            // Truncated or replaced; start over
+            return 0;
+        }
+        if (size == savedSize && modified == savedModified) {
+            // Unchanged since the last run; nothing new to read
+            return size;
+        }
+        return offset;
+    }
+    
+    /**
+     * Finds the offset just past the last line terminator in {@code [start, size)}.
+     * 
+     * @return that offset, or {@code start} if the range holds no complete line
+     */
+    private static long lastLineEnd(FileChannel channel, long start, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(TAIL_PROBE_SIZE);
+        long blockEnd = size;
+        while (blockEnd > start) {
+            long blockStart = Math.max(start, blockEnd - TAIL_PROBE_SIZE);
+            probe.clear();
+            probe.limit((int) (blockEnd - blockStart));
+            while (probe.hasRemaining() && channel.read(probe, blockStart + probe.position()) > 0) {
+                // fill the probe block
+            }
+            for (int i = probe.position() - 1; i >= 0; i--) {
+                if (ByteRecordParser.isLineTerminator(probe.get(i))) {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return start;
+    }
+    
+    /**
+     * Hashes the first bytes of a file, never beyond {@code limit}, so appending data
+     * does not change the hash of the part that was already consumed.
+     */
+    private static long headHash(FileChannel channel, long limit) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(HEAD_HASH_BYTES, limit));
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // fill the head buffer
+        }
+        CRC32 crc = new CRC32();
+        head.flip();
+        crc.update(head);
+        return crc.getValue();
+    }
+    
+    private Properties loadCheckpoints() throws IOException {
+        Properties checkpoints = new Properties();
+        if (Files.exists(checkpointFile)) {
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                checkpoints.load(in);
+            }
+        }
+        return checkpoints;
+    }
+    
+    private void storeCheckpoints(Properties checkpoints) throws IOException {
+        Path parent = checkpointFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, checkpointFile.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            checkpoints.store(out, "ETL incremental extraction checkpoints");
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,145 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads CSV records by memory-mapping the file and scanning raw bytes.
+ * Skips the Reader/charset decoding path entirely; only field values are turned
+ * into Strings. Files of any size are handled by mapping successive windows.
+ * Input is assumed to be UTF-8 (or plain ASCII).
+ */
+public class MappedFileReader {
+    
+    /** Default size of each mapped window, in bytes. */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    
+    private final int windowSize;
+    private final byte delimiter;
+    
+    /**
+     * Creates a reader using the default window size.
+     */
+    public MappedFileReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+    
+    /**
+     * Creates a reader that maps the file in windows of the given size.
+     * A window grows automatically if a single line does not fit in it, and
+     * shrinks back once that line has been read.
+     * 
+     * @param windowSize bytes to map at a time
+     */
+    public MappedFileReader(int windowSize) {
+        this(windowSize, ',');
+    }
+    
+    /**
+     * Creates a reader with a custom window size and field delimiter.
+     * 
+     * @param windowSize bytes to map at a time
+     * @param delimiter the field delimiter; must be an ASCII character
+     */
+    public MappedFileReader(int windowSize, char delimiter) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.delimiter = ByteRecordParser.asciiDelimiter(delimiter);
+    }
+    
+    /**
+     * Reads every non-empty record of a file and hands it to the consumer.
+     * 
+     * @param filePath the path to the file
+     * @param consumer receives each record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    public int forEachRecord(String filePath, Consumer<String[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            rejectCompressed(channel, filePath);
+            return forEachRecord(channel, 0, channel.size(), consumer);
+        }
+    }
+    
+    /**
+     * Reads the records contained in the byte range {@code [start, end)} of a channel.
+     * The range must begin at a line start and end at a line boundary or end of file.
+     * 
+     * @param channel the open file channel
+     * @param start offset of the first byte to read
+     * @param end offset just past the last byte to read
+     * @param consumer receives each record in file order
+     * @return number of records delivered
+     * @throws IOException if file reading fails
+     */
+    int forEachRecord(FileChannel channel, long start, long end, Consumer<String[]> consumer)
+            throws IOException {
+        ByteRecordParser parser = new ByteRecordParser(delimiter);
+        int count = 0;
+        long position = start;
+        long window = windowSize;
+        
+        while (position < end) {
+            int length = (int) Math.min(window, end - position);
+            boolean lastWindow = position + length == end;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (ByteRecordParser.isLineTerminator(buffer.get(i))) {
+                    count += emit(parser, buffer, lineStart, i, consumer);
+                    lineStart = i + 1;
+                }
+            }
+            
+            if (lastWindow) {
+                count += emit(parser, buffer, lineStart, length, consumer);
+                position = end;
+            } else if (lineStart == 0) {
+                // A single line spans the whole window; map a larger one
+                if (window >= Integer.MAX_VALUE) {
+                    throw new IOException("Line at offset " + position + " exceeds maximum mappable size");
+                }
+                window = Math.min(window * 2, Integer.MAX_VALUE);
+            } else {
+                position += lineStart;
+                window = windowSize;
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Fails fast on gzip input, which byte-level paths cannot scan.
+     * 
+     * @param channel the open file channel
+     * @param filePath the path, for the error message
+     * @throws IOException if the file is gzip-compressed
+     */
+    static void rejectCompressed(FileChannel channel, String filePath) throws IOException {
+        if (PipelinedGzipInputStream.isGzip(channel)) {
+            throw new IOException("Compressed input needs Reader-based extraction: " + filePath);
+        }
+    }
+    
+    private static int emit(ByteRecordParser parser, MappedByteBuffer buffer, int from, int to,
+                            Consumer<String[]> consumer) {
+        if (from >= to) {
+            return 0;
+        }
+        String[] record = parser.parse(buffer, from, to);
+        if (record == null) {
+            return 0;
+        }
+        consumer.accept(record);
+        return 1;
+    }
+}
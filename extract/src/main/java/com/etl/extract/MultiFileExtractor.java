@@ -0,0 +1,236 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Extracts many files concurrently and merges them into one record stream.
+ * Files are read on a bounded thread pool, and only a few files per thread are
+ * in flight at once, so memory stays bounded for thousands of shards. Records are
+ * always handed to the consumer on the calling thread. Each file's records stay in
+ * order; with {@code ordered} set, files are also emitted in input order.
+ */
+public class MultiFileExtractor {
+    
+    private static final int FILES_IN_FLIGHT_PER_THREAD = 2;
+    
+    private final FileExtractor extractor;
+    private final int threads;
+    
+    /**
+     * Creates a multi-file extractor with one reader thread per available core.
+     * 
+     * @param extractor the extractor used for each file
+     */
+    public MultiFileExtractor(FileExtractor extractor) {
+        this(extractor, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates a multi-file extractor with a fixed number of reader threads.
+     * 
+     * @param extractor the extractor used for each file
+     * @param threads number of files read concurrently
+     */
+    public MultiFileExtractor(FileExtractor extractor, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.extractor = extractor;
+        this.threads = threads;
+    }
+    
+    /**
+     * Expands an input argument into the files it names.
+     * A directory yields its regular files. A pattern containing any of the glob
+     * characters *, ?, [ or { is matched relative to its longest literal parent
+     * directory, e.g. {@code drops/shard-*.csv}. Any other path is returned as-is.
+     * 
+     * @param input a file, directory or glob pattern
+     * @return matching files sorted by path
+     * @throws IOException if a directory cannot be listed or a pattern matches nothing
+     */
+    public static List<Path> resolveInputs(String input) throws IOException {
+        int globStart = indexOfGlob(input);
+        if (globStart < 0) {
+            Path path = Path.of(input);
+            if (!Files.isDirectory(path)) {
+                return List.of(path);
+            }
+            try (Stream<Path> files = Files.list(path)) {
+                return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+        
+        int separator = input.lastIndexOf('/', globStart);
+        Path base = separator < 0 ? Path.of(".") : Path.of(input.substring(0, separator + 1));
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input.substring(separator + 1));
+        List<Path> matches;
+        try (Stream<Path> files = Files.walk(base)) {
+            matches = files.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(base.relativize(file)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (matches.isEmpty()) {
+            throw new IOException("No input files match: " + input);
+        }
+        return matches;
+    }
+    
+    private static int indexOfGlob(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Extracts all files into one list.
+     * 
+     * @param files the files to read
+     * @param ordered whether files must appear in input order
+     * @return list of data records
+     * @throws IOException if any file fails to read
+     */
+    public List<String[]> extractAll(List<Path> files, boolean ordered) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        forEachRecord(files, ordered, records::add);
+        return records;
+    }
+    
+    /**
+     * Reads files concurrently and streams their records to the consumer.
+     * 
+     * @param files the files to read
+     * @param ordered whether files must be emitted in input order; if false,
+     *                files are emitted as soon as they finish
+     * @param consumer receives each record on the calling thread
+     * @return number of records delivered
+     * @throws IOException if any file fails to read
+     */
+    public int forEachRecord(List<Path> files, boolean ordered, Consumer<String[]> consumer) throws IOException {
+        return forEachMatchingRecord(files, ordered, RecordPredicate.all(), null, consumer);
+    }
+    
+    /**
+     * Reads files concurrently and streams the records that match a predicate,
+     * optionally projected to a subset of columns. Filtering and projection run on
+     * the reader threads, so rejected lines never reach the merge queue.
+     * 
+     * @param files the files to read
+     * @param ordered whether files must be emitted in input order
+     * @param predicate decides which lines to keep
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     * @param consumer receives each matching record on the calling thread
+     * @return number of records delivered
+     * @throws IOException if any file fails to read
+     * @see FileExtractor#forEachMatchingRecord(String, RecordPredicate, int[], Consumer)
+     */
+    public int forEachMatchingRecord(List<Path> files, boolean ordered, RecordPredicate predicate, int[] columns,
+                                     Consumer<String[]> consumer) throws IOException {
+        Function<Path, Callable<List<String[]>>> reader = file -> () -> {
+            List<String[]> records = new ArrayList<>();
+            extractor.forEachMatchingRecord(file.toString(), predicate, columns, records::add);
+            return records;
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, files.size())), task -> {
+            Thread thread = new Thread(task, "file-extractor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return ordered ? emitOrdered(pool, files, reader, consumer) : emitUnordered(pool, files, reader, consumer);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private int emitOrdered(ExecutorService pool, List<Path> files, Function<Path, Callable<List<String[]>>> reader,
+                            Consumer<String[]> consumer) throws IOException {
+        Iterator<Path> pending = files.iterator();
+        Deque<Future<List<String[]>>> inFlight = new ArrayDeque<>();
+        int count = 0;
+        while (pending.hasNext() || !inFlight.isEmpty()) {
+            while (pending.hasNext() && inFlight.size() < threads * FILES_IN_FLIGHT_PER_THREAD) {
+                inFlight.add(pool.submit(reader.apply(pending.next())));
+            }
+            count += emit(await(inFlight.poll()), consumer);
+        }
+        return count;
+    }
+    
+    private int emitUnordered(ExecutorService pool, List<Path> files, Function<Path, Callable<List<String[]>>> reader,
+                              Consumer<String[]> consumer) throws IOException {
+        CompletionService<List<String[]>> completed = new ExecutorCompletionService<>(pool);
+        Iterator<Path> pending = files.iterator();
+        int inFlight = 0;
+        int count = 0;
+        while (pending.hasNext() || inFlight > 0) {
+            while (pending.hasNext() && inFlight < threads * FILES_IN_FLIGHT_PER_THREAD) {
+                completed.submit(reader.apply(pending.next()));
+                inFlight++;
+            }
+            try {
+                count += emit(await(completed.take()), consumer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for file extraction");
+            }
+            inFlight--;
+        }
+        return count;
+    }
+    
+    private static int emit(List<String[]> records, Consumer<String[]> consumer) {
+        for (String[] record : records) {
+            consumer.accept(record);
+        }
+        return records.size();
+    }
+    
+    private static List<String[]> await(Future<List<String[]>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for file extraction");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
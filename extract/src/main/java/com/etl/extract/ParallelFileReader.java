@@ -0,0 +1,224 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Reads CSV records using several cores at once.
+ * The file is cut into byte ranges whose edges fall just after a line terminator,
+ * and each range is parsed by a fork/join worker through the memory-mapped scanner.
+ */
+public class ParallelFileReader {
+    
+    /** Default lower bound on the size of one chunk, in bytes. */
+    public static final long DEFAULT_MIN_CHUNK_SIZE = 1024 * 1024;
+    
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_PROBE_SIZE = 8192;
+    
+    private final ForkJoinPool pool;
+    private final long minChunkSize;
+    private final MappedFileReader chunkReader;
+    
+    /**
+     * Creates a reader that runs on the common fork/join pool.
+     */
+    public ParallelFileReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+    
+    /**
+     * Creates a reader that runs on the given pool.
+     * 
+     * @param pool the pool that parses chunks
+     * @param minChunkSize smallest chunk worth handing to a worker, in bytes
+     */
+    public ParallelFileReader(ForkJoinPool pool, long minChunkSize) {
+        this(pool, minChunkSize, ',');
+    }
+    
+    /**
+     * Creates a reader that runs on the given pool and splits fields on a custom delimiter.
+     * 
+     * @param pool the pool that parses chunks
+     * @param minChunkSize smallest chunk worth handing to a worker, in bytes
+     * @param delimiter the field delimiter; must be an ASCII character
+     */
+    public ParallelFileReader(ForkJoinPool pool, long minChunkSize, char delimiter) {
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Minimum chunk size must be positive: " + minChunkSize);
+        }
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+        this.chunkReader = new MappedFileReader(MappedFileReader.DEFAULT_WINDOW_SIZE, delimiter);
+    }
+    
+    /**
+     * Reads all records of a file in parallel and returns them in file order.
+     * 
+     * @param filePath the path to the file
+     * @return list of data records in file order
+     * @throws IOException if file reading fails
+     */
+    public List<String[]> extract(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedFileReader.rejectCompressed(channel, filePath);
+            long[] bounds = chunkBounds(channel);
+            List<List<String[]>> chunks = new ArrayList<>(Collections.nCopies(bounds.length - 1, null));
+            run(new ChunkTask(0, chunks.size(), chunk -> {
+                List<String[]> records = new ArrayList<>();
+                readChunk(channel, bounds, chunk, records::add);
+                chunks.set(chunk, records);
+            }));
+            
+            int total = 0;
+            for (List<String[]> chunk : chunks) {
+                total += chunk.size();
+            }
+            List<String[]> records = new ArrayList<>(total);
+            for (List<String[]> chunk : chunks) {
+                records.addAll(chunk);
+            }
+            return records;
+        }
+    }
+    
+    /**
+     * Reads all records of a file in parallel, delivering each one as soon as it is parsed.
+     * Records arrive in no particular order and from several threads at once,
+     * so the consumer must be thread-safe.
+     * 
+     * @param filePath the path to the file
+     * @param consumer thread-safe receiver of each record
+     * @throws IOException if file reading fails
+     */
+    public void forEachRecordUnordered(String filePath, Consumer<String[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MappedFileReader.rejectCompressed(channel, filePath);
+            long[] bounds = chunkBounds(channel);
+            run(new ChunkTask(0, bounds.length - 1, chunk -> readChunk(channel, bounds, chunk, consumer)));
+        }
+    }
+    
+    private void readChunk(FileChannel channel, long[] bounds, int chunk, Consumer<String[]> consumer) {
+        try {
+            chunkReader.forEachRecord(channel, bounds[chunk], bounds[chunk + 1], consumer);
+        } catch (IOException e) {
+            throw new ChunkReadException(e);
+        }
+    }
+    
+    private void run(ChunkTask task) throws IOException {
+        try {
+            pool.invoke(task);
+        } catch (ChunkReadException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Splits the file into roughly equal ranges, moving each split point forward
+     * to just past the next line terminator.
+     * 
+     * @param channel the open file channel
+     * @return ascending offsets; chunk i covers {@code [bounds[i], bounds[i + 1])}
+     * @throws IOException if probing the file fails
+     */
+    long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunks = Math.max(1, Math.min(
+                (long) pool.getParallelism() * CHUNKS_PER_THREAD, size / minChunkSize));
+        long step = size / chunks;
+        
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE);
+        for (long i = 1; i < chunks; i++) {
+            long split = nextLineStart(channel, Math.max(i * step, bounds.get(bounds.size() - 1)), probe);
+            if (split >= size) {
+                break;
+            }
+            if (split > bounds.get(bounds.size() - 1)) {
+                bounds.add(split);
+            }
+        }
+        bounds.add(size);
+        
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+    
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer probe) throws IOException {
+        long position = from;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (ByteRecordParser.isLineTerminator(probe.get(i))) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+    
+    /**
+     * Carries a read failure out of a worker. Exceptions thrown by the consumer
+     * use other types and propagate unchanged.
+     */
+    private static final class ChunkReadException extends UncheckedIOException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        ChunkReadException(IOException cause) {
+            super(cause);
+        }
+    }
+    
+    /**
+     * Fork/join task that splits a range of chunk indexes in half until one chunk remains.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+        
+        ChunkTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    action.accept(from);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, middle, action), new ChunkTask(middle, to, action));
+        }
+    }
+}
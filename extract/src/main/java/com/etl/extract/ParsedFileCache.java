@@ -0,0 +1,277 @@
+package com.etl.extract;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Caches extracted records on disk in a compact binary form.
+ * An entry is reused while the source file keeps the same path, size, modification
+ * time and CRC-32C content hash; otherwise the file is parsed again and the entry
+ * replaced. Each entry stores every distinct field value once, followed by records
+ * as varint indexes into that table, so loading decodes each value a single time and
+ * repeated values share one String. The cache directory is kept under a byte budget
+ * by evicting the least recently used entries.
+ */
+public class ParsedFileCache {
+    
+    private static final int MAGIC = 0x45544C43;
+    private static final int VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+    
+    private final Path directory;
+    private final long maxBytes;
+    private final FileExtractor extractor;
+    private int hits;
+    private int misses;
+    
+    /**
+     * Creates a cache for records parsed by the given extractor.
+     * 
+     * @param directory where entries are stored; created on first use
+     * @param maxBytes total size the entries may occupy
+     * @param extractor parses files that are not cached
+     */
+    public ParsedFileCache(Path directory, long maxBytes, FileExtractor extractor) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.extractor = extractor;
+    }
+    
+    /**
+     * Returns the records of a file, from the cache when the file is unchanged.
+     * 
+     * @param filePath the path to the file
+     * @return list of data records
+     * @throws IOException if the source file cannot be read
+     */
+    public List<String[]> extractFromFile(String filePath) throws IOException {
+        Path source = Path.of(filePath).toAbsolutePath().normalize();
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        long hash = contentHash(source);
+        Path entry = directory.resolve(entryName(source));
+        
+        List<String[]> records = Files.exists(entry) ? read(entry, source, size, modified, hash) : null;
+        if (records != null) {
+            hits++;
+            // Touch the entry so eviction sees it as recently used
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return records;
+        }
+        
+        misses++;
+        records = extractor.extractFromFile(filePath);
+        // Skip caching if the file changed while it was parsed
+        if (Files.size(source) == size && Files.getLastModifiedTime(source).toMillis() == modified) {
+            write(entry, source, size, modified, hash, records);
+            evict();
+        }
+        return records;
+    }
+    
+    /**
+     * Gets the number of lookups answered from the cache.
+     * 
+     * @return cache hits
+     */
+    public int getHitCount() {
+        return hits;
+    }
+    
+    /**
+     * Gets the number of lookups that had to parse the source file.
+     * 
+     * @return cache misses
+     */
+    public int getMissCount() {
+        return misses;
+    }
+    
+    private String entryName(Path source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(extractor.getDelimiter()).getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            byte[] bytes = digest.digest();
+            for (int i = 0; i < 16; i++) {
+                name.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16)).append(Character.forDigit(bytes[i] & 0xF, 16));
+            }
+            return name.append(ENTRY_SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static long contentHash(Path source) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+    
+    /**
+     * Reads an entry, or returns null if it is stale, for another file, or unreadable.
+     */
+    private List<String[]> read(Path entry, Path source, long size, long modified, long hash) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(entry));
+            if (in.getInt() != MAGIC || in.getInt() != VERSION || in.getChar() != extractor.getDelimiter()
+                    || in.getLong() != size || in.getLong() != modified || in.getLong() != hash
+                    || !readString(in).equals(source.toString())) {
+                return null;
+            }
+            String[] values = new String[readVarInt(in)];
+            for (int v = 0; v < values.length; v++) {
+                values[v] = readString(in);
+            }
+            int recordCount = readVarInt(in);
+            List<String[]> records = new ArrayList<>(recordCount);
+            for (int r = 0; r < recordCount; r++) {
+                String[] record = new String[readVarInt(in)];
+                for (int f = 0; f < record.length; f++) {
+                    record[f] = values[readVarInt(in)];
+                }
+                records.add(record);
+            }
+            return records;
+        } catch (IOException | RuntimeException e) {
+            // A truncated or corrupt entry is treated as a miss and rewritten
+            return null;
+        }
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = readVarInt(in);
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+    
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+    
+    private void write(Path entry, Path source, long size, long modified, long hash, List<String[]> records)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeChar(extractor.getDelimiter());
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeLong(hash);
+                writeString(out, source.toString());
+                Map<String, Integer> valueIds = new HashMap<>();
+                for (String[] record : records) {
+                    for (String field : record) {
+                        valueIds.putIfAbsent(field, valueIds.size());
+                    }
+                }
+                String[] values = new String[valueIds.size()];
+                valueIds.forEach((value, id) -> values[id] = value);
+                writeVarInt(out, values.length);
+                for (String value : values) {
+                    writeString(out, value);
+                }
+                writeVarInt(out, records.size());
+                for (String[] record : records) {
+                    writeVarInt(out, record.length);
+                    for (String field : record) {
+                        writeVarInt(out, valueIds.get(field));
+                    }
+                }
+            }
+            // Entries must fit the budget and be loadable into a single array
+            if (Files.size(temp) > Math.min(maxBytes, Integer.MAX_VALUE - 8)) {
+                Files.deleteIfExists(entry);
+                return;
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+    
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+    
+    /**
+     * Deletes the least recently used entries until the cache fits its budget.
+     */
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        long total = 0;
+        for (Path file : entries) {
+            BasicFileAttributes fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+            attributes.put(file, fileAttributes);
+            total += fileAttributes.size();
+        }
+        entries.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+        for (Path file : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(file);
+            total -= attributes.get(file).size();
+        }
+    }
+}
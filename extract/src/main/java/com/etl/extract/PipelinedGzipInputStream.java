@@ -0,0 +1,216 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates a gzip stream on a dedicated thread so decompression overlaps with parsing.
+ * The inflater fills a fixed pool of buffers and hands them to the reading thread
+ * through a queue; once every buffer is in use it waits, which bounds memory to
+ * {@code bufferCount * bufferSize} no matter how far ahead decompression could run.
+ */
+public class PipelinedGzipInputStream extends InputStream {
+    
+    /** Default size of each inflated buffer, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    
+    /** Default number of buffers shared between the inflater and the reader. */
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+    
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final Chunk END = new Chunk(new byte[0]);
+    
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> filled;
+    private final Thread inflater;
+    private volatile IOException failure;
+    private volatile boolean closed;
+    private Chunk current;
+    private int position;
+    
+    /**
+     * Creates a pipelined stream with the default buffer pool.
+     * 
+     * @param compressed the gzip-compressed source; closed when inflation ends
+     * @throws IOException if the gzip header is invalid
+     */
+    public PipelinedGzipInputStream(InputStream compressed) throws IOException {
+        this(compressed, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+    
+    /**
+     * Creates a pipelined stream with a custom buffer pool.
+     * 
+     * @param compressed the gzip-compressed source; closed when inflation ends
+     * @param bufferSize size of each inflated buffer, in bytes
+     * @param bufferCount number of buffers the inflater may fill ahead of the reader
+     * @throws IOException if the gzip header is invalid
+     */
+    public PipelinedGzipInputStream(InputStream compressed, int bufferSize, int bufferCount) throws IOException {
+        if (bufferSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("Buffer size and count must be positive");
+        }
+        GZIPInputStream gzip = new GZIPInputStream(compressed, bufferSize);
+        free = new ArrayBlockingQueue<>(bufferCount);
+        filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new Chunk(new byte[bufferSize]));
+        }
+        inflater = new Thread(() -> inflate(gzip), "gzip-inflater");
+        inflater.setDaemon(true);
+        inflater.start();
+    }
+    
+    /**
+     * Checks whether a stream starts with the gzip magic number.
+     * The stream must support mark/reset; its position is left unchanged.
+     * 
+     * @param in the stream to probe
+     * @return true if the next two bytes are the gzip magic number
+     * @throws IOException if reading fails
+     */
+    public static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        try {
+            return in.read() == GZIP_MAGIC_1 && in.read() == GZIP_MAGIC_2;
+        } finally {
+            in.reset();
+        }
+    }
+    
+    /**
+     * Checks whether a file channel starts with the gzip magic number.
+     * 
+     * @param channel the channel to probe; its position is not changed
+     * @return true if the first two bytes are the gzip magic number
+     * @throws IOException if reading fails
+     */
+    static boolean isGzip(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+            // keep reading until both bytes are in or the file ends
+        }
+        return magic.position() == 2
+                && (magic.get(0) & 0xFF) == GZIP_MAGIC_1 && (magic.get(1) & 0xFF) == GZIP_MAGIC_2;
+    }
+    
+    private void inflate(GZIPInputStream gzip) {
+        try (gzip) {
+            while (!closed) {
+                Chunk chunk = free.take();
+                chunk.length = readFully(gzip, chunk.data);
+                if (chunk.length == 0) {
+                    break;
+                }
+                filled.put(chunk);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException("Decompression failed", e);
+        } catch (InterruptedException e) {
+            // Closed by the reader; nobody is waiting for the end marker
+            return;
+        }
+        filled.offer(END);
+    }
+    
+    private static int readFully(InputStream in, byte[] data) throws IOException {
+        int total = 0;
+        while (total < data.length) {
+            int read = in.read(data, total, data.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+    
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, count);
+        position += count;
+        return count;
+    }
+    
+    @Override
+    public int available() {
+        return current == null || current == END ? 0 : current.length - position;
+    }
+    
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current == END) {
+            return false;
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (current != null) {
+            free.add(current);
+        }
+        try {
+            current = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+        }
+        position = 0;
+        if (current == END) {
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Stops the inflater thread and releases the buffers.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            inflater.interrupt();
+        }
+    }
+    
+    /**
+     * One reusable buffer and the number of valid bytes in it.
+     */
+    private static final class Chunk {
+        
+        private final byte[] data;
+        private int length;
+        
+        Chunk(byte[] data) {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a file sequentially while the next chunks are already being fetched.
+ * A ring of buffers is kept in flight on an {@link AsynchronousFileChannel}, each
+ * holding a consecutive chunk of the file. While the reader consumes one buffer the
+ * others are being filled, and a consumed buffer is immediately reissued for the
+ * next unread chunk, so I/O latency is hidden behind parsing. Memory is bounded to
+ * {@code bufferCount * bufferSize}.
+ */
+public class ReadAheadInputStream extends InputStream {
+    
+    /** Default size of each read-ahead buffer, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    
+    /** Default number of buffers kept in flight. */
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+    
+    private final AsynchronousFileChannel channel;
+    private final ByteBuffer[] buffers;
+    private final Future<?>[] reads;
+    private final long[] positions;
+    private long nextPosition;
+    private int current;
+    private ByteBuffer active;
+    private boolean endOfFile;
+    
+    /**
+     * Opens a file with the default buffer ring.
+     * 
+     * @param path the file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public ReadAheadInputStream(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_COUNT, DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * Opens a file with a custom buffer ring.
+     * 
+     * @param path the file to read
+     * @param bufferCount number of chunks fetched ahead of the reader
+     * @param bufferSize size of each chunk, in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    public ReadAheadInputStream(Path path, int bufferCount, int bufferSize) throws IOException {
+        if (bufferSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("Buffer size and count must be positive");
+        }
+        this.channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        this.buffers = new ByteBuffer[bufferCount];
+        this.reads = new Future<?>[bufferCount];
+        this.positions = new long[bufferCount];
+        for (int slot = 0; slot < bufferCount; slot++) {
+            buffers[slot] = ByteBuffer.allocate(bufferSize);
+            issue(slot);
+        }
+    }
+    
+    private void issue(int slot) {
+        ByteBuffer buffer = buffers[slot];
+        buffer.clear();
+        positions[slot] = nextPosition;
+        reads[slot] = channel.read(buffer, nextPosition);
+        nextPosition += buffer.capacity();
+    }
+    
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return active.get() & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, active.remaining());
+        active.get(b, off, n);
+        return n;
+    }
+    
+    @Override
+    public int available() {
+        return active == null ? 0 : active.remaining();
+    }
+    
+    /**
+     * Makes the active buffer non-empty, waiting for the next chunk if needed.
+     * 
+     * @return false once the end of the file is reached
+     */
+    private boolean fill() throws IOException {
+        while (active == null || !active.hasRemaining()) {
+            // Chunks in flight past the end are ignored, even if the file has grown since
+            if (endOfFile) {
+                return false;
+            }
+            if (active != null) {
+                // Recycle the consumed buffer for the next unread chunk
+                active = null;
+                issue(current);
+                current = (current + 1) % buffers.length;
+            }
+            Future<?> read = reads[current];
+            ByteBuffer buffer = buffers[current];
+            int n = await(read);
+            // A short read is only final at the end of the file; otherwise fetch the rest of the chunk
+            while (n >= 0 && buffer.hasRemaining()) {
+                n = await(channel.read(buffer, positions[current] + buffer.position()));
+            }
+            if (buffer.hasRemaining()) {
+                endOfFile = true;
+            }
+            buffer.flip();
+            active = buffer;
+        }
+        return true;
+    }
+    
+    private static int await(Future<?> read) throws IOException {
+        try {
+            return (Integer) read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for read-ahead");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+    
+    /**
+     * Closes the file. Reads still in flight are abandoned.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Counts the records in a CSV file without parsing them.
+ * Streams raw bytes through a large direct buffer and counts lines that contain
+ * at least one non-whitespace byte, which matches the empty-line rule used by
+ * {@link FileExtractor#extractFromFile(String)}. No Strings are created.
+ * Gzip-compressed files are counted after pipelined decompression.
+ */
+public class RecordCounter {
+    
+    /** Default size of the direct read buffer, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    
+    private final int bufferSize;
+    
+    /**
+     * Creates a counter using the default buffer size.
+     */
+    public RecordCounter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+    
+    /**
+     * Creates a counter that reads the file in blocks of the given size.
+     * 
+     * @param bufferSize bytes to read per block
+     */
+    public RecordCounter(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+    }
+    
+    /**
+     * Counts the non-empty lines of a file.
+     * 
+     * @param filePath the path to the file
+     * @return number of records the file would extract to
+     * @throws IOException if file reading fails
+     */
+    public long count(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            if (PipelinedGzipInputStream.isGzip(channel)) {
+                try (InputStream in = new PipelinedGzipInputStream(Channels.newInputStream(channel))) {
+                    return count(in);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(bufferSize, Math.max(1, channel.size())));
+            long count = 0;
+            boolean lineHasContent = false;
+            
+            while (channel.read(buffer) > 0) {
+                int limit = buffer.position();
+                for (int i = 0; i < limit; i++) {
+                    byte b = buffer.get(i);
+                    if (ByteRecordParser.isLineTerminator(b)) {
+                        if (lineHasContent) {
+                            count++;
+                            lineHasContent = false;
+                        }
+                    } else if (!lineHasContent && !ByteRecordParser.isWhitespace(b)) {
+                        lineHasContent = true;
+                    }
+                }
+                buffer.clear();
+            }
+            
+            return lineHasContent ? count + 1 : count;
+        }
+    }
+    
+    /**
+     * Counts the non-empty lines of an already decoded byte stream, such as
+     * decompressed input. The stream is not closed.
+     * 
+     * @param in the stream to count
+     * @return number of records the stream would extract to
+     * @throws IOException if reading fails
+     */
+    public long count(InputStream in) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long count = 0;
+        boolean lineHasContent = false;
+        int read;
+        
+        while ((read = in.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (ByteRecordParser.isLineTerminator(b)) {
+                    if (lineHasContent) {
+                        count++;
+                        lineHasContent = false;
+                    }
+                } else if (!lineHasContent && !ByteRecordParser.isWhitespace(b)) {
+                    lineHasContent = true;
+                }
+            }
+        }
+        
+        return lineHasContent ? count + 1 : count;
+    }
+}
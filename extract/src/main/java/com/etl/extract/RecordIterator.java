@@ -0,0 +1,119 @@
+package com.etl.extract;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads records from a CSV source one line at a time.
+ * Only the current record is held in memory, so callers can stream
+ * arbitrarily large files with constant heap usage.
+ */
+public class RecordIterator implements Iterator<String[]>, Closeable {
+    
+    private final BufferedReader reader;
+    private final FieldTokenizer tokenizer;
+    private final RecordPredicate predicate;
+    private final int[] columns;
+    private String[] next;
+    private boolean closed;
+    
+    /**
+     * Creates an iterator over the given reader. The iterator owns the reader
+     * and closes it when the input is exhausted or {@link #close()} is called.
+     * 
+     * @param reader the reader to consume
+     */
+    public RecordIterator(BufferedReader reader) {
+        this(reader, ',');
+    }
+    
+    /**
+     * Creates an iterator over the given reader that splits fields on a custom delimiter.
+     * 
+     * @param reader the reader to consume
+     * @param delimiter the field delimiter
+     */
+    public RecordIterator(BufferedReader reader, char delimiter) {
+        this(reader, delimiter, RecordPredicate.all(), null);
+    }
+    
+    /**
+     * Creates an iterator that skips lines rejected by a predicate and optionally
+     * projects the remaining ones to a subset of columns.
+     * 
+     * @param reader the reader to consume
+     * @param delimiter the field delimiter
+     * @param predicate decides which lines to return
+     * @param columns zero-based indexes of the columns to keep, or null for all columns
+     */
+    RecordIterator(BufferedReader reader, char delimiter, RecordPredicate predicate, int[] columns) {
+        this.reader = reader;
+        this.tokenizer = new FieldTokenizer(delimiter);
+        this.predicate = predicate;
+        this.columns = columns;
+    }
+    
+    /**
+     * Checks whether another record is available, reading ahead if needed.
+     * 
+     * @return true if another record is available
+     * @throws UncheckedIOException if reading the underlying file fails
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Skip empty lines
+                if (tokenizer.reset(line).isBlank() || !predicate.test(tokenizer)) {
+                    continue;
+                }
+                next = columns == null ? tokenizer.toArray() : FileExtractor.project(tokenizer, columns);
+                return true;
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Returns the next record.
+     * 
+     * @return the next record
+     * @throws NoSuchElementException if no records remain
+     */
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String[] record = next;
+        next = null;
+        return record;
+    }
+    
+    /**
+     * Closes the underlying reader. Safe to call more than once.
+     * 
+     * @throws IOException if closing the reader fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.etl.extract;
+
+/**
+ * A filter evaluated against a tokenized line before any field is materialized.
+ * Predicates see the {@link FieldTokenizer} for the current line, so checks such as
+ * field counts, equality or numeric ranges run on the raw characters and rejected
+ * lines cost no String allocation at all.
+ */
+@FunctionalInterface
+public interface RecordPredicate {
+    
+    /**
+     * Tests the current line.
+     * 
+     * @param line the tokenizer positioned on a non-empty line; must not be retained
+     * @return true to keep the record
+     */
+    boolean test(FieldTokenizer line);
+    
+    /**
+     * Combines this predicate with another; both must match.
+     * 
+     * @param other the other predicate
+     * @return the combined predicate
+     */
+    default RecordPredicate and(RecordPredicate other) {
+        return line -> test(line) && other.test(line);
+    }
+    
+    /**
+     * Combines this predicate with another; either may match.
+     * 
+     * @param other the other predicate
+     * @return the combined predicate
+     */
+    default RecordPredicate or(RecordPredicate other) {
+        return line -> test(line) || other.test(line);
+    }
+    
+    /**
+     * Inverts this predicate.
+     * 
+     * @return the negated predicate
+     */
+    default RecordPredicate negate() {
+        return line -> !test(line);
+    }
+    
+    /**
+     * Accepts every record.
+     * 
+     * @return a predicate that always matches
+     */
+    static RecordPredicate all() {
+        return line -> true;
+    }
+    
+    /**
+     * Keeps records with at least the given number of fields.
+     * Same rule as {@code DataTransformer.filterByFieldCount}.
+     * 
+     * @param minFields minimum number of fields required
+     * @return the predicate
+     */
+    static RecordPredicate minFieldCount(int minFields) {
+        return line -> line.fieldCount() >= minFields;
+    }
+    
+    /**
+     * Keeps records whose column equals a value exactly.
+     * 
+     * @param column zero-based column index
+     * @param value the expected value
+     * @return the predicate
+     */
+    static RecordPredicate columnEquals(int column, String value) {
+        return line -> column < line.fieldCount() && line.fieldEquals(column, value);
+    }
+    
+    /**
+     * Keeps records whose column starts with a prefix.
+     * 
+     * @param column zero-based column index
+     * @param prefix the expected prefix
+     * @return the predicate
+     */
+    static RecordPredicate columnStartsWith(int column, String prefix) {
+        return line -> {
+            if (column >= line.fieldCount() || line.fieldLength(column) < prefix.length()) {
+                return false;
+            }
+            char[] chars = line.buffer();
+            int start = line.fieldStart(column);
+            for (int i = 0; i < prefix.length(); i++) {
+                if (chars[start + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+    
+    /**
+     * Keeps records whose column is an integer within {@code [min, max]}.
+     * Surrounding spaces are ignored; non-numeric values never match.
+     * 
+     * @param column zero-based column index
+     * @param min smallest accepted value
+     * @param max largest accepted value
+     * @return the predicate
+     */
+    static RecordPredicate columnInRange(int column, long min, long max) {
+        return line -> {
+            if (column >= line.fieldCount()) {
+                return false;
+            }
+            char[] chars = line.buffer();
+            int start = line.fieldStart(column);
+            int end = line.fieldEnd(column);
+            while (start < end && chars[start] == ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] == ' ') {
+                end--;
+            }
+            boolean negative = start < end && chars[start] == '-';
+            if (negative || (start < end && chars[start] == '+')) {
+                start++;
+            }
+            if (start == end || end - start > 18) {
+                return false;
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                char c = chars[i];
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (negative) {
+                value = -value;
+            }
+            return value >= min && value <= max;
+        };
+    }
+}
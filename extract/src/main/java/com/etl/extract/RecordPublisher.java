@@ -0,0 +1,188 @@
+package com.etl.extract;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the records of a file as batches that honour subscriber demand.
+ * Nothing is read ahead of what has been requested, so a slow subscriber throttles
+ * reading and at most one batch per outstanding request is ever held in memory.
+ * The end of input is signalled with the last batch when that batch comes up short;
+ * after a full batch it takes one more request to find out.
+ * Reading blocks, so the executor should not be a pool meant for computation.
+ * The publisher is cold: every subscriber gets its own pass over the file.
+ * Signals to a subscriber are never concurrent, but may arrive on different
+ * threads of the executor.
+ */
+public class RecordPublisher implements Flow.Publisher<List<String[]>> {
+    
+    /** Default number of records per published batch. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    
+    /**
+     * Opens a fresh record iterator for a subscription.
+     */
+    @FunctionalInterface
+    interface Source {
+        RecordIterator open() throws IOException;
+    }
+    
+    private final Source source;
+    private final int batchSize;
+    private final Executor executor;
+    
+    RecordPublisher(Source source, int batchSize, Executor executor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.source = source;
+        this.batchSize = batchSize;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+    
+    /**
+     * Starts a new pass over the file for the subscriber.
+     * The file is opened on the executor once the first batch is requested.
+     * 
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<String[]>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        BatchSubscription subscription = new BatchSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+    
+    private final class BatchSubscription implements Flow.Subscription {
+        
+        private final Flow.Subscriber<? super List<String[]>> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        // Only touched from the drain loop, which never runs concurrently with itself
+        private RecordIterator records;
+        private boolean exhausted;
+        private boolean done;
+        
+        BatchSubscription(Flow.Subscriber<? super List<String[]>> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Request must be positive: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            scheduleDrain();
+        }
+        
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            // Only the caller that moves the counter off zero starts a drain
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emitRequested();
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+        
+        private void emitRequested() {
+            try {
+                long emitted = 0;
+                long requested = demand.get();
+                while (true) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+                    if (invalidRequest != null) {
+                        finish();
+                        subscriber.onError(invalidRequest);
+                        return;
+                    }
+                    if (emitted == requested) {
+                        requested = demand.addAndGet(-emitted);
+                        emitted = 0;
+                        if (requested == 0) {
+                            return;
+                        }
+                    }
+                    List<String[]> batch = nextBatch();
+                    if (batch.isEmpty()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(batch);
+                    emitted++;
+                    // Completion needs no demand, so report an end already seen right away
+                    if (!cancelled && exhausted) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                finish();
+                subscriber.onError(e);
+            } catch (RuntimeException | Error e) {
+                // A failing subscriber cancels its own subscription
+                finish();
+                throw e;
+            }
+        }
+        
+        private List<String[]> nextBatch() throws IOException {
+            if (records == null) {
+                records = source.open();
+            }
+            List<String[]> batch = new ArrayList<>(batchSize);
+            try {
+                while (batch.size() < batchSize) {
+                    if (!records.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    batch.add(records.next());
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return batch;
+        }
+        
+        private void finish() {
+            done = true;
+            if (records != null) {
+                try {
+                    records.close();
+                } catch (IOException e) {
+                    // Nothing more to deliver; the subscriber is already terminated
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.etl.extract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Keeps a uniform random sample of a fixed number of items from a stream of
+ * unknown length in a single pass. Uses the skip-based Algorithm L, so after the
+ * reservoir fills only a logarithmic number of items are ever materialized;
+ * the rest are just counted. The same seed and input always give the same sample.
+ * 
+ * @param <T> the item type
+ */
+public final class ReservoirSampler<T> {
+    
+    private final Object[] reservoir;
+    private final long[] positions;
+    private final Random random;
+    private long seen;
+    private long nextSelected;
+    private double weight;
+    
+    /**
+     * Creates a sampler.
+     * 
+     * @param size maximum number of items to keep
+     * @param seed random seed, for reproducible samples
+     */
+    public ReservoirSampler(int size, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive: " + size);
+        }
+        this.reservoir = new Object[size];
+        this.positions = new long[size];
+        this.random = new Random(seed);
+        this.weight = Math.exp(Math.log(nextDouble()) / size);
+        this.nextSelected = size + skipLength();
+    }
+    
+    /**
+     * Offers the next item of the stream.
+     * 
+     * @param item the item
+     */
+    public void offer(T item) {
+        offer(item, Function.identity());
+    }
+    
+    /**
+     * Offers the next item of the stream, converting it only if it enters the sample.
+     * This lets callers pass a reusable view, such as a {@link FieldTokenizer},
+     * without building an object for every item.
+     * 
+     * @param source the item in its raw form; must not be retained by the converter
+     * @param converter builds the item to keep from the source
+     * @param <S> the raw item type
+     */
+    public <S> void offer(S source, Function<? super S, ? extends T> converter) {
+        long position = seen++;
+        if (position < reservoir.length) {
+            reservoir[(int) position] = converter.apply(source);
+            positions[(int) position] = position;
+        } else if (position == nextSelected) {
+            int slot = random.nextInt(reservoir.length);
+            reservoir[slot] = converter.apply(source);
+            positions[slot] = position;
+            weight *= Math.exp(Math.log(nextDouble()) / reservoir.length);
+            nextSelected += 1 + skipLength();
+        }
+    }
+    
+    private long skipLength() {
+        double skip = Math.floor(Math.log(nextDouble()) / Math.log1p(-weight));
+        // Guard against overflow when the weight rounds to zero
+        return skip < Long.MAX_VALUE / 2 ? (long) skip : Long.MAX_VALUE / 2;
+    }
+    
+    private double nextDouble() {
+        // Random.nextDouble() may return 0, whose logarithm is undefined
+        double value;
+        do {
+            value = random.nextDouble();
+        } while (value == 0.0);
+        return value;
+    }
+    
+    /**
+     * Gets the number of items offered so far.
+     * 
+     * @return items seen
+     */
+    public long getSeen() {
+        return seen;
+    }
+    
+    /**
+     * Gets the sampled items in the order they appeared in the stream.
+     * 
+     * @return at most {@code size} items
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getSample() {
+        int filled = (int) Math.min(seen, reservoir.length);
+        Integer[] order = new Integer[filled];
+        for (int i = 0; i < filled; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(slot -> positions[slot]));
+        List<T> sample = new ArrayList<>(filled);
+        for (int slot : order) {
+            sample.add((T) reservoir[slot]);
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,140 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FieldDictionary class.
+ */
+public class FieldDictionaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that equal values in the same column share one instance.
+     */
+    @Test
+    public void testIntern_RepeatedValue_ReturnsSameInstance() {
+        FieldDictionary dictionary = new FieldDictionary(16);
+        char[] line = "Engineer,Engineer".toCharArray();
+
+        String first = dictionary.intern(0, line, 0, 8);
+        String second = dictionary.intern(0, line, 9, 17);
+
+        assertEquals("Engineer", first);
+        assertSame(first, second);
+        assertSame(first, dictionary.intern(0, new String("Engineer")));
+        assertEquals(2.0 / 3, dictionary.getHitRate(), 1e-9);
+        assertTrue(dictionary.getEstimatedBytesSaved() > 0);
+    }
+
+    /**
+     * Tests that columns keep separate tables.
+     */
+    @Test
+    public void testIntern_DifferentColumns_AreIndependent() {
+        FieldDictionary dictionary = new FieldDictionary(16);
+
+        String first = dictionary.intern(0, new String("x"));
+        String second = dictionary.intern(3, new String("x"));
+
+        assertNotSame(first, second);
+        assertEquals(2, dictionary.getEntryCount());
+        assertEquals(0.0, dictionary.getHitRate(), 0.0);
+    }
+
+    /**
+     * Tests that a full column stops growing but still shares the values it holds.
+     */
+    @Test
+    public void testIntern_ColumnFull_StopsAddingValues() {
+        FieldDictionary dictionary = new FieldDictionary(2);
+        String a = dictionary.intern(0, new String("a"));
+        dictionary.intern(0, new String("b"));
+
+        String c1 = dictionary.intern(0, new String("c"));
+        String c2 = dictionary.intern(0, new String("c"));
+
+        assertEquals(2, dictionary.getEntryCount());
+        assertNotSame("Values beyond the bound are not shared", c1, c2);
+        assertSame(a, dictionary.intern(0, new String("a")));
+    }
+
+    /**
+     * Tests that a large size limit allocates nothing up front, and that tables grow
+     * as values arrive while keeping every value shared.
+     */
+    @Test
+    public void testIntern_LargeLimit_GrowsTableOnDemand() {
+        FieldDictionary dictionary = new FieldDictionary(FieldDictionary.MAX_ENTRIES_PER_COLUMN);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = dictionary.intern(3, new String("value" + i));
+        }
+
+        assertEquals(0, dictionary.getCapacity(0));
+        assertTrue("Table should stay proportional to its entries", dictionary.getCapacity(3) <= 4096);
+        assertEquals(1000, dictionary.getEntryCount());
+        for (int i = 0; i < values.length; i++) {
+            assertSame(values[i], dictionary.intern(3, "value" + i));
+        }
+    }
+
+    /**
+     * Tests that hash collisions and empty values are handled.
+     */
+    @Test
+    public void testIntern_CollidingAndEmptyValues_StayDistinct() {
+        FieldDictionary dictionary = new FieldDictionary(8);
+        // "Aa" and "BB" have the same String hash code
+        char[] chars = "AaBB".toCharArray();
+
+        assertEquals("Aa", dictionary.intern(0, chars, 0, 2));
+        assertEquals("BB", dictionary.intern(0, chars, 2, 4));
+        assertEquals("", dictionary.intern(0, chars, 1, 1));
+        assertSame(dictionary.intern(0, chars, 0, 2), dictionary.intern(0, "Aa"));
+        assertEquals(3, dictionary.getEntryCount());
+    }
+
+    /**
+     * Tests that dictionary extraction matches plain extraction and shares repeated fields.
+     */
+    @Test
+    public void testExtractFromFile_WithDictionary_SharesRepeatedFields() throws IOException {
+        File file = folder.newFile("people.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("user").append(i).append(',').append(i % 2 == 0 ? "Engineer" : "Manager").append('\n');
+        }
+        Files.write(file.toPath(), content.toString().getBytes());
+        FileExtractor extractor = new FileExtractor();
+        FieldDictionary dictionary = new FieldDictionary(100);
+
+        List<String[]> shared = extractor.extractFromFile(file.getAbsolutePath(), dictionary);
+        List<String[]> plain = extractor.extractFromFile(file.getAbsolutePath());
+
+        for (int i = 0; i < plain.size(); i++) {
+            assertArrayEquals(plain.get(i), shared.get(i));
+        }
+        assertSame(shared.get(0)[1], shared.get(998)[1]);
+        assertEquals("Column 0 holds 100 users, column 1 two titles", 102, dictionary.getEntryCount());
+        assertEquals(998.0 / 2000, dictionary.getHitRate(), 1e-9);
+    }
+
+    /**
+     * Tests that an out-of-range size is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ZeroSize_ThrowsException() {
+        new FieldDictionary(0);
+    }
+}
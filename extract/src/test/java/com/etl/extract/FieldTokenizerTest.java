@@ -0,0 +1,156 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FieldTokenizer class.
+ * Verifies split-compatible field boundaries, lazy field access and
+ * custom delimiters through FileExtractor.
+ */
+public class FieldTokenizerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that toArray matches String.split for a range of edge cases.
+     */
+    @Test
+    public void testToArray_EdgeCases_MatchesStringSplit() {
+        String[] lines = {"a", "a,b,c", "a,,c", ",a", "a,", "a,b,,", ",,,", " , ", "a ,b "};
+        FieldTokenizer tokenizer = new FieldTokenizer();
+
+        for (String line : lines) {
+            assertArrayEquals("Line: '" + line + "'", line.split(","), tokenizer.reset(line).toArray());
+            assertEquals(line.split(",").length, tokenizer.fieldCount());
+        }
+    }
+
+    /**
+     * Tests that blank detection matches the trim().isEmpty() rule.
+     */
+    @Test
+    public void testIsBlank_WhitespaceAndDelimiters() {
+        FieldTokenizer tokenizer = new FieldTokenizer('\t');
+
+        assertTrue(tokenizer.reset("").isBlank());
+        assertTrue(tokenizer.reset(" \t ").isBlank());
+        assertFalse(tokenizer.reset(" x ").isBlank());
+        assertFalse(new FieldTokenizer().reset(",").isBlank());
+    }
+
+    /**
+     * Tests offset, view and comparison access without materializing fields.
+     */
+    @Test
+    public void testFieldAccess_OffsetsViewsAndEquals() {
+        char[] buffer = "xxJohn|Doe|30yy".toCharArray();
+        FieldTokenizer tokenizer = new FieldTokenizer('|').reset(buffer, 2, 13);
+
+        assertEquals(3, tokenizer.fieldCount());
+        assertSame(buffer, tokenizer.buffer());
+        assertEquals(7, tokenizer.fieldStart(1));
+        assertEquals(10, tokenizer.fieldEnd(1));
+        assertEquals(3, tokenizer.fieldLength(1));
+        assertEquals("Doe", tokenizer.fieldView(1).toString());
+        assertTrue(tokenizer.fieldEquals(0, "John"));
+        assertFalse(tokenizer.fieldEquals(0, "Jon"));
+        assertEquals("30", tokenizer.field(2));
+    }
+
+    /**
+     * Tests that out-of-range field indexes are rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testField_IndexOutOfRange_ThrowsException() {
+        new FieldTokenizer().reset("a,b").field(2);
+    }
+
+    /**
+     * Tests that a pipe delimiter is matched literally, not as a regex.
+     */
+    @Test
+    public void testToArray_PipeDelimiter_MatchedLiterally() {
+        String line = "a|b||c||";
+
+        assertArrayEquals(line.split(Pattern.quote("|")), new FieldTokenizer('|').reset(line).toArray());
+    }
+
+    /**
+     * Tests extraction of a tab-separated file through all extraction paths.
+     */
+    @Test
+    public void testFileExtractor_TabDelimiter_AllPathsAgree() throws IOException {
+        File file = folder.newFile("data.tsv");
+        Files.write(file.toPath(), "John\tDoe, Jr.\t30\n\t\t\nJane\tSmith\t25\n".getBytes());
+        FileExtractor extractor = new FileExtractor('\t');
+
+        List<String[]> records = extractor.extractFromFile(file.getAbsolutePath());
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[] {"John", "Doe, Jr.", "30"}, records.get(0));
+        assertArrayEquals(new String[] {"Jane", "Smith", "25"}, records.get(1));
+        assertArrayEquals(records.get(0), extractor.extractFromFileMapped(file.getAbsolutePath()).get(0));
+        assertArrayEquals(records.get(1), extractor.extractFromFileParallel(file.getAbsolutePath()).get(1));
+        try (RecordIterator iterator = extractor.openRecords(file.getAbsolutePath())) {
+            assertArrayEquals(records.get(0), iterator.next());
+        }
+    }
+
+    /**
+     * Tests that forEachLine lets consumers read only the fields they need.
+     */
+    @Test
+    public void testForEachLine_SelectiveFieldAccess() throws IOException {
+        File file = folder.newFile("data.csv");
+        Files.write(file.toPath(), "John,Doe,30\n\nJane,Smith,25\r\nBob,Johnson,35".getBytes());
+        List<String> surnames = new ArrayList<>();
+
+        int count = new FileExtractor().forEachLine(file.getAbsolutePath(), tokenizer -> {
+            if (!tokenizer.fieldEquals(0, "Jane")) {
+                surnames.add(tokenizer.field(1));
+            }
+        });
+
+        assertEquals(3, count);
+        assertEquals(List.of("Doe", "Johnson"), surnames);
+    }
+
+    /**
+     * Tests that lines longer than the internal buffer are reassembled.
+     */
+    @Test
+    public void testForEachLine_LongLines_GrowsBuffer() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            line.append("field").append(i).append(',');
+        }
+        line.append("end");
+        File file = folder.newFile("long.csv");
+        Files.write(file.toPath(), (line + "\n" + line + "\n").getBytes());
+
+        List<String[]> records = new FileExtractor().extractFromFile(file.getAbsolutePath());
+
+        assertEquals(2, records.size());
+        assertArrayEquals(line.toString().split(","), records.get(1));
+    }
+
+    /**
+     * Tests that byte-level paths reject delimiters that are not single UTF-8 bytes.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMappedFileReader_NonAsciiDelimiter_ThrowsException() {
+        new MappedFileReader(1024, '\u00a6');
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -267,4 +272,183 @@ public class FileExtractorTest {
         assertEquals("Both extractors should return same number of records",
                      records1.size(), records2.size());
     }
+
+    /**
+     * Tests that the record iterator yields the same records as extractFromFile.
+     */
+    @Test
+    public void testOpenRecords_FileWithEmptyLines_IteratesNonEmptyRecords() throws IOException {
+        String filePath = getResourcePath("file-with-empty-lines.csv");
+
+        List<String> firstFields = new ArrayList<>();
+        try (RecordIterator iterator = extractor.openRecords(filePath)) {
+            while (iterator.hasNext()) {
+                firstFields.add(iterator.next()[0]);
+            }
+            assertFalse("Iterator should be exhausted", iterator.hasNext());
+        }
+
+        assertEquals(List.of("Alice", "Bob", "Carol"), firstFields);
+    }
+
+    /**
+     * Tests that next() on an exhausted iterator throws NoSuchElementException.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testOpenRecords_EmptyFile_NextThrows() throws IOException {
+        String filePath = getResourcePath("empty-file.csv");
+
+        try (RecordIterator iterator = extractor.openRecords(filePath)) {
+            assertFalse("Empty file should have no records", iterator.hasNext());
+            iterator.next();
+        }
+    }
+
+    /**
+     * Tests that openRecords fails eagerly for a missing file.
+     */
+    @Test(expected = IOException.class)
+    public void testOpenRecords_NonExistentFile_ThrowsIOException() throws IOException {
+        extractor.openRecords("non-existent-file.csv");
+    }
+
+    /**
+     * Tests that the record stream is lazy and preserves file order.
+     */
+    @Test
+    public void testStreamRecords_NormalData_StreamsInOrder() throws IOException {
+        String filePath = getResourcePath("normal-data.csv");
+
+        List<String> names;
+        try (Stream<String[]> stream = extractor.streamRecords(filePath)) {
+            names = stream.map(record -> record[0]).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("John", "Jane", "Bob"), names);
+    }
+
+    /**
+     * Tests the callback variant delivers every record and returns the count.
+     */
+    @Test
+    public void testForEachRecord_FileWithEmptyLines_DeliversEachRecord() throws IOException {
+        String filePath = getResourcePath("file-with-empty-lines.csv");
+        List<String[]> received = new ArrayList<>();
+
+        int count = extractor.forEachRecord(filePath, received::add);
+
+        assertEquals("Should report 3 records", 3, count);
+        assertEquals("Should deliver 3 records", 3, received.size());
+        assertEquals("Carol", received.get(2)[0]);
+    }
+
+    /**
+     * Tests that an unchecked IOException thrown by the consumer is not reported as a read failure.
+     */
+    @Test
+    public void testForEachRecord_ConsumerThrows_PropagatesUnchanged() throws IOException {
+        String filePath = getResourcePath("file-with-empty-lines.csv");
+        UncheckedIOException failure = new UncheckedIOException(new IOException("consumer failed"));
+
+        try {
+            extractor.forEachRecord(filePath, record -> {
+                throw failure;
+            });
+            fail("Should rethrow the consumer's exception");
+        } catch (UncheckedIOException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    /**
+     * Tests that column projection keeps only the requested columns in the requested order.
+     */
+    @Test
+    public void testExtractColumns_NormalData_ReturnsSelectedColumns() throws IOException {
+        String filePath = getResourcePath("normal-data.csv");
+
+        List<String[]> records = extractor.extractColumns(filePath, 3, 0);
+
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[] {"Engineer", "John"}, records.get(0));
+        assertArrayEquals(new String[] {"Manager", "Bob"}, records.get(2));
+    }
+
+    /**
+     * Tests that columns beyond the end of a line are filled with empty strings.
+     */
+    @Test
+    public void testExtractColumns_SingleField_PadsMissingColumns() throws IOException {
+        String filePath = getResourcePath("single-field.csv");
+
+        List<String[]> records = extractor.extractColumns(filePath, 0, 5);
+
+        assertArrayEquals(new String[] {"SingleValue", ""}, records.get(0));
+    }
+
+    /**
+     * Tests that negative column indexes are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractColumns_NegativeIndex_ThrowsException() throws IOException {
+        extractor.extractColumns(getResourcePath("normal-data.csv"), -1);
+    }
+
+    /**
+     * Tests that the head limit returns the first records only.
+     */
+    @Test
+    public void testExtractHead_LimitBelowSize_ReturnsFirstRecords() throws IOException {
+        String filePath = getResourcePath("normal-data.csv");
+
+        List<String[]> records = extractor.extractHead(filePath, 2);
+
+        assertEquals(2, records.size());
+        assertEquals("John", records.get(0)[0]);
+        assertEquals("Jane", records.get(1)[0]);
+        assertEquals(3, extractor.extractHead(filePath, 10).size());
+    }
+
+    /**
+     * Tests that reading stops once the limit is reached.
+     */
+    @Test
+    public void testForEachMatchingRecordLimited_StopsReading() throws IOException {
+        String filePath = getResourcePath("normal-data.csv");
+        int[] visited = new int[1];
+        RecordPredicate counting = line -> {
+            visited[0]++;
+            return true;
+        };
+
+        int count = extractor.forEachMatchingRecordLimited(filePath, counting, null, 1, record -> { });
+
+        assertEquals(1, count);
+        assertEquals("No line after the limit should be scanned", 1, visited[0]);
+    }
+
+    /**
+     * Tests that sampling returns distinct records from the file in file order.
+     */
+    @Test
+    public void testExtractSample_NormalData_ReturnsRecordsInFileOrder() throws IOException {
+        String filePath = getResourcePath("normal-data.csv");
+
+        List<String[]> sample = extractor.extractSample(filePath, 2, 5);
+
+        assertEquals(2, sample.size());
+        List<String[]> all = extractor.extractFromFile(filePath);
+        int previous = -1;
+        for (String[] record : sample) {
+            int index = -1;
+            for (int i = 0; i < all.size(); i++) {
+                if (all.get(i)[0].equals(record[0])) {
+                    index = i;
+                }
+            }
+            assertTrue("Sampled records should follow file order", index > previous);
+            previous = index;
+        }
+        assertEquals(3, extractor.extractSample(filePath, 5, 5).size());
+    }
 }
@@ -0,0 +1,160 @@
+package com.etl.extract;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MappedFileReader class.
+ * Verifies that the memory-mapped path produces the same records as the
+ * Reader-based extraction, including across window boundaries.
+ */
+public class MappedFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileExtractor extractor;
+
+    @Before
+    public void setUp() {
+        extractor = new FileExtractor();
+    }
+
+    /**
+     * Helper method to write a temporary CSV file.
+     *
+     * @param content the file content
+     * @return the absolute path to the file
+     */
+    private String writeFile(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Helper method to assert two record lists are field-for-field equal.
+     */
+    private void assertSameRecords(List<String[]> expected, List<String[]> actual) {
+        assertEquals("Record counts should match", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals("Record " + i + " should match", expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Tests that mapped extraction matches Reader-based extraction on normal data.
+     */
+    @Test
+    public void testExtractFromFileMapped_NormalData_MatchesExtractFromFile() throws IOException {
+        String filePath = writeFile("John,Doe,30,Engineer\nJane,Smith,25,Designer\nBob,Johnson,35,Manager\n");
+
+        assertSameRecords(extractor.extractFromFile(filePath), extractor.extractFromFileMapped(filePath));
+    }
+
+    /**
+     * Tests blank lines, CRLF endings, trailing delimiters and a missing final newline.
+     */
+    @Test
+    public void testExtractFromFileMapped_EdgeCases_MatchesSplitSemantics() throws IOException {
+        String filePath = writeFile("a,b,,\r\n\r\n   \n,x\n,,,\rlast,one");
+
+        List<String[]> records = extractor.extractFromFileMapped(filePath);
+
+        assertSameRecords(extractor.extractFromFile(filePath), records);
+        assertEquals(4, records.size());
+        assertArrayEquals(new String[] {"a", "b"}, records.get(0));
+        assertArrayEquals(new String[] {"", "x"}, records.get(1));
+        assertEquals("All-delimiter line should have no fields", 0, records.get(2).length);
+        assertArrayEquals(new String[] {"last", "one"}, records.get(3));
+    }
+
+    /**
+     * Tests that multi-byte UTF-8 field values are decoded correctly, and the same way
+     * as the Reader path whatever the platform default charset is.
+     */
+    @Test
+    public void testExtractFromFileMapped_Utf8Fields_DecodesValues() throws IOException {
+        String filePath = writeFile("caf\u00e9,\u00fcber\n");
+
+        List<String[]> records = extractor.extractFromFileMapped(filePath);
+
+        assertEquals(1, records.size());
+        assertArrayEquals(new String[] {"caf\u00e9", "\u00fcber"}, records.get(0));
+        assertSameRecords(records, extractor.extractFromFile(filePath));
+    }
+
+    /**
+     * Tests that records crossing window boundaries are reassembled correctly.
+     */
+    @Test
+    public void testForEachRecord_SmallWindows_ReassemblesLines() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("name").append(i).append(",value-").append(i).append('\n');
+        }
+        content.append("a-line-much-longer-than-the-window-size,to-force-growth\n");
+        String filePath = writeFile(content.toString());
+
+        List<String[]> records = new ArrayList<>();
+        int count = new MappedFileReader(16).forEachRecord(filePath, records::add);
+
+        assertEquals(201, count);
+        assertSameRecords(extractor.extractFromFile(filePath), records);
+    }
+
+    /**
+     * Tests that lines after an oversized one are still read once the window has shrunk back.
+     */
+    @Test
+    public void testForEachRecord_LongLineFirst_ReadsFollowingLines() throws IOException {
+        StringBuilder content = new StringBuilder("a-line-much-longer-than-the-window-size,to-force-growth\n");
+        for (int i = 0; i < 50; i++) {
+            content.append("name").append(i).append(",v\n");
+        }
+        String filePath = writeFile(content.toString());
+
+        List<String[]> records = new ArrayList<>();
+        int count = new MappedFileReader(16).forEachRecord(filePath, records::add);
+
+        assertEquals(51, count);
+        assertSameRecords(extractor.extractFromFile(filePath), records);
+    }
+
+    /**
+     * Tests that an empty file produces no records.
+     */
+    @Test
+    public void testExtractFromFileMapped_EmptyFile_ReturnsEmptyList() throws IOException {
+        String filePath = writeFile("");
+
+        assertTrue(extractor.extractFromFileMapped(filePath).isEmpty());
+    }
+
+    /**
+     * Tests that a missing file raises an IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testExtractFromFileMapped_NonExistentFile_ThrowsIOException() throws IOException {
+        extractor.extractFromFileMapped("non-existent-file.csv");
+    }
+
+    /**
+     * Tests that a non-positive window size is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NonPositiveWindow_ThrowsException() {
+        new MappedFileReader(0);
+    }
+}
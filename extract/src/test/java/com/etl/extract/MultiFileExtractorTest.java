@@ -0,0 +1,131 @@
+package com.etl.extract;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MultiFileExtractor class.
+ * Covers input resolution and ordered/unordered concurrent extraction.
+ */
+public class MultiFileExtractorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File shards;
+
+    @Before
+    public void setUp() throws IOException {
+        shards = folder.newFolder("shards");
+        for (int shard = 0; shard < 12; shard++) {
+            StringBuilder content = new StringBuilder();
+            for (int row = 0; row < 50; row++) {
+                content.append("shard").append(shard).append(',').append(row).append('\n');
+            }
+            Files.write(new File(shards, String.format("part-%02d.csv", shard)).toPath(),
+                        content.toString().getBytes());
+        }
+        Files.write(new File(shards, "README.txt").toPath(), "not data".getBytes());
+    }
+
+    /**
+     * Tests that a directory resolves to all its files in sorted order.
+     */
+    @Test
+    public void testResolveInputs_Directory_ListsSortedFiles() throws IOException {
+        List<Path> files = MultiFileExtractor.resolveInputs(shards.getAbsolutePath());
+
+        assertEquals(13, files.size());
+        assertEquals("README.txt", files.get(0).getFileName().toString());
+        assertEquals("part-00.csv", files.get(1).getFileName().toString());
+    }
+
+    /**
+     * Tests that a glob pattern resolves to the matching files only.
+     */
+    @Test
+    public void testResolveInputs_Glob_MatchesPattern() throws IOException {
+        List<Path> files = MultiFileExtractor.resolveInputs(shards.getAbsolutePath() + "/part-0*.csv");
+
+        assertEquals(10, files.size());
+        assertEquals("part-09.csv", files.get(9).getFileName().toString());
+    }
+
+    /**
+     * Tests that a plain path is passed through unchanged, even if it does not exist.
+     */
+    @Test
+    public void testResolveInputs_PlainPath_ReturnedAsIs() throws IOException {
+        assertEquals(List.of(Path.of("missing.csv")), MultiFileExtractor.resolveInputs("missing.csv"));
+    }
+
+    /**
+     * Tests that a glob matching nothing raises an IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testResolveInputs_GlobWithoutMatches_ThrowsIOException() throws IOException {
+        MultiFileExtractor.resolveInputs(shards.getAbsolutePath() + "/*.tsv");
+    }
+
+    /**
+     * Tests that ordered extraction equals reading the files one after another.
+     */
+    @Test
+    public void testExtractAll_Ordered_MatchesSequentialConcatenation() throws IOException {
+        List<Path> files = MultiFileExtractor.resolveInputs(shards.getAbsolutePath() + "/*.csv");
+        FileExtractor extractor = new FileExtractor();
+        List<String[]> expected = new ArrayList<>();
+        for (Path file : files) {
+            expected.addAll(extractor.extractFromFile(file.toString()));
+        }
+
+        List<String[]> actual = new MultiFileExtractor(extractor, 3).extractAll(files, true);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Tests that unordered extraction keeps each file's records together and in order.
+     */
+    @Test
+    public void testExtractAll_Unordered_KeepsPerFileOrder() throws IOException {
+        List<Path> files = MultiFileExtractor.resolveInputs(shards.getAbsolutePath() + "/*.csv");
+
+        List<String[]> records = new MultiFileExtractor(new FileExtractor(), 4).extractAll(files, false);
+
+        assertEquals(600, records.size());
+        List<String> shardOrder = new ArrayList<>();
+        for (int i = 0; i < records.size(); i += 50) {
+            for (int row = 0; row < 50; row++) {
+                assertEquals(records.get(i)[0], records.get(i + row)[0]);
+                assertEquals(Integer.toString(row), records.get(i + row)[1]);
+            }
+            shardOrder.add(records.get(i)[0]);
+        }
+        assertEquals(12, shardOrder.stream().distinct().count());
+    }
+
+    /**
+     * Tests that a failing file surfaces its IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testExtractAll_MissingFile_ThrowsIOException() throws IOException {
+        List<Path> files = List.of(new File(shards, "part-00.csv").toPath(), Path.of("missing.csv"));
+
+        new MultiFileExtractor(new FileExtractor(), 2).extractAll(files, true);
+    }
+}
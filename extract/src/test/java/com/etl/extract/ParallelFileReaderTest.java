@@ -0,0 +1,159 @@
+package com.etl.extract;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ParallelFileReader class.
+ * Verifies chunk alignment and that parallel extraction returns the
+ * same records as sequential extraction.
+ */
+public class ParallelFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ForkJoinPool pool;
+    private ParallelFileReader reader;
+    private String filePath;
+
+    @Before
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        reader = new ParallelFileReader(pool, 64);
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append("first").append(i).append(",last").append(i).append(',').append(i % 60).append('\n');
+            if (i % 50 == 0) {
+                content.append('\n');
+            }
+        }
+        File file = folder.newFile("parallel.csv");
+        Files.write(file.toPath(), content.toString().getBytes());
+        filePath = file.getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Tests that chunk boundaries always fall at the start of a line.
+     */
+    @Test
+    public void testChunkBounds_SplitsOnLineStarts() throws IOException {
+        byte[] bytes = Files.readAllBytes(new File(filePath).toPath());
+
+        try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+            long[] bounds = reader.chunkBounds(channel);
+
+            assertTrue("Should produce several chunks", bounds.length > 2);
+            assertEquals(0, bounds[0]);
+            assertEquals(bytes.length, bounds[bounds.length - 1]);
+            for (int i = 1; i < bounds.length - 1; i++) {
+                assertTrue("Bounds should ascend", bounds[i] > bounds[i - 1]);
+                assertEquals("Chunk should start after a newline", '\n', bytes[(int) bounds[i] - 1]);
+            }
+        }
+    }
+
+    /**
+     * Tests that ordered parallel extraction matches sequential extraction exactly.
+     */
+    @Test
+    public void testExtract_Ordered_MatchesSequentialExtraction() throws IOException {
+        List<String[]> expected = new FileExtractor().extractFromFile(filePath);
+
+        List<String[]> actual = reader.extract(filePath);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals("Record " + i + " should match", expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Tests that unordered extraction delivers every record exactly once.
+     */
+    @Test
+    public void testForEachRecordUnordered_DeliversAllRecords() throws IOException {
+        List<String> expected = new ArrayList<>();
+        for (String[] record : new FileExtractor().extractFromFile(filePath)) {
+            expected.add(String.join(",", record));
+        }
+        ConcurrentLinkedQueue<String[]> received = new ConcurrentLinkedQueue<>();
+
+        reader.forEachRecordUnordered(filePath, received::add);
+
+        List<String> actual = new ArrayList<>();
+        for (String[] record : received) {
+            actual.add(String.join(",", record));
+        }
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests that an unchecked IOException thrown by the consumer is not reported as a read failure.
+     */
+    @Test
+    public void testForEachRecordUnordered_ConsumerThrows_PropagatesUnchecked() throws IOException {
+        try {
+            reader.forEachRecordUnordered(filePath, record -> {
+                throw new UncheckedIOException(new IOException("consumer failed"));
+            });
+            fail("Should rethrow the consumer's exception");
+        } catch (UncheckedIOException e) {
+            assertEquals("consumer failed", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Tests the FileExtractor entry points for parallel extraction.
+     */
+    @Test
+    public void testExtractFromFileParallel_SmallFile_ReturnsAllRecords() throws IOException {
+        FileExtractor extractor = new FileExtractor();
+
+        assertEquals(500, extractor.extractFromFileParallel(filePath).size());
+        assertEquals(500, extractor.extractFromFileParallel(filePath, false).size());
+    }
+
+    /**
+     * Tests that an empty file yields no records.
+     */
+    @Test
+    public void testExtract_EmptyFile_ReturnsEmptyList() throws IOException {
+        File empty = folder.newFile("empty.csv");
+
+        assertTrue(reader.extract(empty.getAbsolutePath()).isEmpty());
+    }
+
+    /**
+     * Tests that a missing file raises an IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testExtract_NonExistentFile_ThrowsIOException() throws IOException {
+        reader.extract("non-existent-file.csv");
+    }
+}
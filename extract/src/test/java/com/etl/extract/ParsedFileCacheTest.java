@@ -0,0 +1,162 @@
+package com.etl.extract;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ParsedFileCache class.
+ */
+public class ParsedFileCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path cacheDir;
+
+    @Before
+    public void setUp() {
+        cacheDir = folder.getRoot().toPath().resolve("cache");
+    }
+
+    /**
+     * Helper method to write a source file.
+     */
+    private Path write(String name, String content) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, content.getBytes("UTF-8"));
+        return file;
+    }
+
+    /**
+     * Helper method to count cache entries.
+     */
+    private long entryCount() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.count();
+        }
+    }
+
+    /**
+     * Tests that a second read of an unchanged file is served from the cache with identical records.
+     */
+    @Test
+    public void testExtractFromFile_UnchangedFile_HitsCache() throws IOException {
+        Path source = write("data.csv", "John,Doe,30\n\nJane,,25,\n,,\ncaf\u00e9,\u00fcber\n");
+        FileExtractor extractor = new FileExtractor();
+        List<String[]> expected = extractor.extractFromFile(source.toString());
+
+        ParsedFileCache cache = new ParsedFileCache(cacheDir, 1 << 20, extractor);
+        List<String[]> first = cache.extractFromFile(source.toString());
+        List<String[]> second = new ParsedFileCache(cacheDir, 1 << 20, extractor).extractFromFile(source.toString());
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(expected.size(), second.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), first.get(i));
+            assertArrayEquals(expected.get(i), second.get(i));
+        }
+    }
+
+    /**
+     * Tests that changed content is re-parsed even when size and mtime are unchanged.
+     */
+    @Test
+    public void testExtractFromFile_SameSizeAndMtime_DetectsContentChange() throws IOException {
+        Path source = write("data.csv", "a,1\n");
+        FileTime mtime = Files.getLastModifiedTime(source);
+        ParsedFileCache cache = new ParsedFileCache(cacheDir, 1 << 20, new FileExtractor());
+        cache.extractFromFile(source.toString());
+
+        write("data.csv", "b,2\n");
+        Files.setLastModifiedTime(source, mtime);
+        List<String[]> records = cache.extractFromFile(source.toString());
+
+        assertEquals(2, cache.getMissCount());
+        assertArrayEquals(new String[] {"b", "2"}, records.get(0));
+        assertArrayEquals(new String[] {"b", "2"}, cache.extractFromFile(source.toString()).get(0));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    /**
+     * Tests that extractors with different delimiters do not share entries.
+     */
+    @Test
+    public void testExtractFromFile_DifferentDelimiter_UsesSeparateEntry() throws IOException {
+        Path source = write("data.csv", "a,b|c\n");
+
+        new ParsedFileCache(cacheDir, 1 << 20, new FileExtractor()).extractFromFile(source.toString());
+        List<String[]> piped = new ParsedFileCache(cacheDir, 1 << 20, new FileExtractor('|'))
+                .extractFromFile(source.toString());
+
+        assertArrayEquals(new String[] {"a,b", "c"}, piped.get(0));
+        assertEquals(2, entryCount());
+    }
+
+    /**
+     * Tests that the least recently used entry is evicted when the budget is exceeded.
+     */
+    @Test
+    public void testExtractFromFile_OverBudget_EvictsLeastRecentlyUsed() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            content.append("row").append(i).append(",value\n");
+        }
+        Path first = write("first.csv", content.toString());
+        Path second = write("second.csv", content.toString());
+        Path third = write("third.csv", content.toString());
+        new ParsedFileCache(cacheDir, 1 << 20, new FileExtractor()).extractFromFile(first.toString());
+        Path firstEntry;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            firstEntry = files.findFirst().get();
+        }
+        Files.setLastModifiedTime(firstEntry, FileTime.fromMillis(1000));
+        ParsedFileCache cache = new ParsedFileCache(cacheDir, Files.size(firstEntry) * 5 / 2, new FileExtractor());
+
+        cache.extractFromFile(second.toString());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            Path secondEntry = files.filter(file -> !file.equals(firstEntry)).findFirst().get();
+            Files.setLastModifiedTime(secondEntry, FileTime.fromMillis(2000));
+        }
+        cache.extractFromFile(first.toString());
+        cache.extractFromFile(third.toString());
+
+        assertEquals(2, entryCount());
+        assertTrue("Recently used entry is kept", Files.exists(firstEntry));
+        cache.extractFromFile(second.toString());
+        assertEquals("Second file was evicted", 3, cache.getMissCount());
+    }
+
+    /**
+     * Tests that a corrupt entry is treated as a miss and rewritten.
+     */
+    @Test
+    public void testExtractFromFile_CorruptEntry_ReparsesFile() throws IOException {
+        Path source = write("data.csv", "a,1\nb,2\n");
+        ParsedFileCache cache = new ParsedFileCache(cacheDir, 1 << 20, new FileExtractor());
+        cache.extractFromFile(source.toString());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            Path entry = files.findFirst().get();
+            byte[] bytes = Files.readAllBytes(entry);
+            Files.write(entry, Arrays.copyOf(bytes, bytes.length - 3));
+        }
+
+        List<String[]> records = cache.extractFromFile(source.toString());
+
+        assertEquals(2, records.size());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.extractFromFile(source.toString()).size());
+        assertEquals(1, cache.getHitCount());
+    }
+}
@@ -0,0 +1,158 @@
+package com.etl.extract;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PipelinedGzipInputStream class.
+ * Verifies that compressed inputs decompress transparently through the
+ * Reader-based extraction paths.
+ */
+public class PipelinedGzipInputStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String content;
+    private String plainPath;
+    private String gzipPath;
+
+    @Before
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append("name").append(i).append(",surname").append(i).append(',').append(i % 50).append('\n');
+            if (i % 1000 == 0) {
+                builder.append('\n');
+            }
+        }
+        content = builder.toString();
+
+        File plain = folder.newFile("data.csv");
+        Files.write(plain.toPath(), content.getBytes());
+        plainPath = plain.getAbsolutePath();
+
+        File gzip = folder.newFile("data.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip.toPath()))) {
+            out.write(content.getBytes());
+        }
+        gzipPath = gzip.getAbsolutePath();
+    }
+
+    /**
+     * Helper method to gzip bytes in memory.
+     */
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Tests that small buffers still reproduce the exact uncompressed bytes.
+     */
+    @Test
+    public void testRead_SmallBuffers_ReproducesContent() throws IOException {
+        byte[] expected = content.getBytes();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        try (InputStream in = new PipelinedGzipInputStream(new ByteArrayInputStream(gzip(expected)), 100, 2)) {
+            byte[] buffer = new byte[37];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                actual.write(buffer, 0, read);
+            }
+            assertEquals("Stream should stay at end", -1, in.read());
+        }
+
+        assertArrayEquals(expected, actual.toByteArray());
+    }
+
+    /**
+     * Tests magic number detection without consuming the stream.
+     */
+    @Test
+    public void testIsGzip_DetectsMagicNumber() throws IOException {
+        ByteArrayInputStream compressed = new ByteArrayInputStream(gzip("a".getBytes()));
+        ByteArrayInputStream plain = new ByteArrayInputStream("a,b".getBytes());
+
+        assertTrue(PipelinedGzipInputStream.isGzip(compressed));
+        assertEquals("Probe should not consume bytes", 0x1f, compressed.read());
+        assertFalse(PipelinedGzipInputStream.isGzip(plain));
+        assertFalse(PipelinedGzipInputStream.isGzip(new ByteArrayInputStream(new byte[0])));
+    }
+
+    /**
+     * Tests that extraction and counting give the same results for gzip and plain files.
+     */
+    @Test
+    public void testFileExtractor_GzipFile_MatchesPlainFile() throws IOException {
+        FileExtractor extractor = new FileExtractor();
+
+        List<String[]> expected = extractor.extractFromFile(plainPath);
+        List<String[]> actual = extractor.extractFromFile(gzipPath);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i += 997) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+        assertEquals(expected.size(), extractor.getRecordCount(gzipPath));
+        assertEquals(expected.size(), extractor.extractFromFileQuoted(gzipPath).size());
+        try (RecordIterator iterator = extractor.openRecords(gzipPath)) {
+            assertArrayEquals(expected.get(0), iterator.next());
+        }
+    }
+
+    /**
+     * Tests that truncated gzip data surfaces as an IOException on the reading thread.
+     */
+    @Test(expected = IOException.class)
+    public void testRead_TruncatedInput_ThrowsIOException() throws IOException {
+        byte[] compressed = gzip(content.getBytes());
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        try (InputStream in = new PipelinedGzipInputStream(new ByteArrayInputStream(truncated))) {
+            byte[] buffer = new byte[4096];
+            while (in.read(buffer) != -1) {
+                // drain until the inflater reports the failure
+            }
+        }
+    }
+
+    /**
+     * Tests that closing early stops the stream without reading to the end.
+     */
+    @Test(expected = IOException.class)
+    public void testClose_BeforeEnd_RejectsFurtherReads() throws IOException {
+        InputStream in = new PipelinedGzipInputStream(new ByteArrayInputStream(gzip(content.getBytes())), 64, 1);
+        in.read();
+        in.close();
+
+        in.read();
+    }
+
+    /**
+     * Tests that byte-level extraction paths refuse compressed input.
+     */
+    @Test(expected = IOException.class)
+    public void testExtractFromFileMapped_GzipFile_ThrowsIOException() throws IOException {
+        new FileExtractor().extractFromFileMapped(gzipPath);
+    }
+}
@@ -0,0 +1,159 @@
+package com.etl.extract;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Rough throughput comparison of the quoted CSV parser against the naive
+ * readLine/split path. Not a unit test; run with {@code gradle :extract:benchmarkCsv}.
+ * Rows mix plain fields with quoted fields holding delimiters, doubled quotes and
+ * line breaks. Every reader reports the fields and characters it parsed, and the
+ * quoted parser must match the generated totals, so its timing covers correct output.
+ */
+public class QuotedCsvParserBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("csv-benchmark", ".csv");
+        try {
+            StringBuilder content = new StringBuilder();
+            Tally expected = new Tally();
+            for (int i = 0; i < ROWS; i++) {
+                appendRow(content, expected, i);
+            }
+            Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+            String filePath = file.toString();
+
+            Result split = measure(() -> naiveSplit(filePath));
+            Result quoted = measure(() -> quoted(filePath));
+            Result tokenizer = measure(() -> {
+                Tally tally = new Tally();
+                new FileExtractor().forEachRecord(filePath, tally::add);
+                return tally;
+            });
+            if (quoted.tally.fields != expected.fields || quoted.tally.chars != expected.chars) {
+                throw new IllegalStateException("QuotedCsvParser parsed " + quoted.tally + ", expected " + expected);
+            }
+
+            System.out.printf("rows=%d, expected %s%n", ROWS, expected);
+            System.out.printf("readLine + split:   %6d ms  %s%n", split.millis, split.tally);
+            System.out.printf("FieldTokenizer:     %6d ms  %s (%.2fx split)%n",
+                    tokenizer.millis, tokenizer.tally, (double) tokenizer.millis / split.millis);
+            System.out.printf("QuotedCsvParser:    %6d ms  %s (%.2fx split)%n",
+                    quoted.millis, quoted.tally, (double) quoted.millis / split.millis);
+            System.out.println("Only QuotedCsvParser handles quoting; the other counts show how far they diverge.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Appends one row, cycling through a plain row and rows whose quoted fields hold
+     * a delimiter, doubled quotes and a line break. The tally gets the unquoted values.
+     */
+    private static void appendRow(StringBuilder content, Tally expected, int i) {
+        String first = "First" + i;
+        String last = "Last" + i;
+        String age = Integer.toString(20 + i % 40);
+        String title;
+        switch (i % 4) {
+            case 0:
+                content.append(first).append(',').append(last).append(',').append(age).append(",Software Engineer\n");
+                title = "Software Engineer";
+                break;
+            case 1:
+                content.append(first).append(",\"").append(last).append(", Jr.\",").append(age)
+                       .append(",\"Engineer, Platform\"\n");
+                last = last + ", Jr.";
+                title = "Engineer, Platform";
+                break;
+            case 2:
+                content.append(first).append(',').append(last).append(',').append(age)
+                       .append(",\"Says \"\"hi\"\" often\"\n");
+                title = "Says \"hi\" often";
+                break;
+            default:
+                content.append(first).append(',').append(last).append(',').append(age)
+                       .append(",\"Line one\nline two\"\n");
+                title = "Line one\nline two";
+                break;
+        }
+        expected.add(new String[] {first, last, age, title});
+    }
+
+    private static Tally naiveSplit(String filePath) throws IOException {
+        Tally tally = new Tally();
+        try (BufferedReader br = Files.newBufferedReader(Path.of(filePath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    tally.add(line.split(","));
+                }
+            }
+        }
+        return tally;
+    }
+
+    private static Tally quoted(String filePath) throws IOException {
+        Tally tally = new Tally();
+        try (Reader reader = Files.newBufferedReader(Path.of(filePath), StandardCharsets.UTF_8)) {
+            new QuotedCsvParser().parse(reader, tally::add);
+        }
+        return tally;
+    }
+
+    private static Result measure(Workload workload) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            workload.run();
+        }
+        long best = Long.MAX_VALUE;
+        Tally tally = null;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            tally = workload.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return new Result(best / 1_000_000, tally);
+    }
+
+    private interface Workload {
+        Tally run() throws IOException;
+    }
+
+    /**
+     * Number of fields and total field characters seen by a reader.
+     */
+    private static final class Tally {
+        long fields;
+        long chars;
+
+        void add(String[] record) {
+            fields += record.length;
+            for (String field : record) {
+                chars += field.length();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "fields=" + fields + " chars=" + chars;
+        }
+    }
+
+    private static final class Result {
+        final long millis;
+        final Tally tally;
+
+        Result(long millis, Tally tally) {
+            this.millis = millis;
+            this.tally = tally;
+        }
+    }
+}
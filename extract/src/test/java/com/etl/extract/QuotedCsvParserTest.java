@@ -0,0 +1,129 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuotedCsvParser class.
+ * Covers quoted delimiters, escaped quotes, multi-line records and malformed input.
+ */
+public class QuotedCsvParserTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Helper method to parse a string into records.
+     *
+     * @param csv the CSV content
+     * @return the parsed records
+     */
+    private List<String[]> parse(String csv) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        new QuotedCsvParser().parse(new StringReader(csv), records::add);
+        return records;
+    }
+
+    /**
+     * Tests that unquoted input parses like the split-based extraction.
+     */
+    @Test
+    public void testParse_PlainData_SplitsFields() throws IOException {
+        List<String[]> records = parse("John,Doe,30\n\nJane,Smith,25\r\n   \nBob,Johnson,35");
+
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[] {"John", "Doe", "30"}, records.get(0));
+        assertArrayEquals(new String[] {"Bob", "Johnson", "35"}, records.get(2));
+    }
+
+    /**
+     * Tests quoted fields containing delimiters, escaped quotes and line breaks.
+     */
+    @Test
+    public void testParse_QuotedFields_HandlesRfc4180Cases() throws IOException {
+        List<String[]> records = parse(
+                "\"Doe, John\",\"He said \"\"hi\"\"\",30\n"
+                + "\"Line one\nLine two\",x\r\n"
+                + "\"\",\"\"\"\"\n");
+
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[] {"Doe, John", "He said \"hi\"", "30"}, records.get(0));
+        assertArrayEquals(new String[] {"Line one\nLine two", "x"}, records.get(1));
+        assertArrayEquals(new String[] {"", "\""}, records.get(2));
+    }
+
+    /**
+     * Tests that trailing empty fields are kept, unlike String.split.
+     */
+    @Test
+    public void testParse_TrailingEmptyFields_Preserved() throws IOException {
+        List<String[]> records = parse("a,b,\n\"\"\n");
+
+        assertArrayEquals(new String[] {"a", "b", ""}, records.get(0));
+        assertArrayEquals("A quoted empty line is a record", new String[] {""}, records.get(1));
+    }
+
+    /**
+     * Tests that fields straddling the internal read buffer are reassembled.
+     */
+    @Test
+    public void testParse_LongFields_SpanBufferRefills() throws IOException {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            longValue.append("abc\"\"def,");
+        }
+        String plain = longValue.toString().replace("\"\"", "").replace(",", "");
+
+        List<String[]> records = parse(plain + ",\"" + longValue + "\"\n");
+
+        assertEquals(1, records.size());
+        assertEquals(plain, records.get(0)[0]);
+        assertEquals(longValue.toString().replace("\"\"", "\""), records.get(0)[1]);
+    }
+
+    /**
+     * Tests that an unterminated quote raises an IOException with its line number.
+     */
+    @Test
+    public void testParse_UnterminatedQuote_ThrowsIOException() {
+        try {
+            parse("a,b\nc,\"open\nstill open");
+            fail("Should have thrown IOException for unterminated quote");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("line 2"));
+        }
+    }
+
+    /**
+     * Tests that a quote character cannot be used as the delimiter.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_QuoteDelimiter_ThrowsException() {
+        new QuotedCsvParser('"');
+    }
+
+    /**
+     * Tests the FileExtractor entry point with a semicolon-separated file.
+     */
+    @Test
+    public void testExtractFromFileQuoted_CustomDelimiter() throws IOException {
+        File file = folder.newFile("quoted.csv");
+        Files.write(file.toPath(), "\"a;b\";c\n\nd;\"e\nf\"\n".getBytes());
+
+        List<String[]> records = new FileExtractor(';').extractFromFileQuoted(file.getAbsolutePath());
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[] {"a;b", "c"}, records.get(0));
+        assertArrayEquals(new String[] {"d", "e\nf"}, records.get(1));
+    }
+}
@@ -0,0 +1,125 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReadAheadInputStream class.
+ * Uses tiny buffers so that files span many chunks and the ring wraps around.
+ */
+public class ReadAheadInputStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Helper method to write random bytes to a file.
+     */
+    private Path writeRandom(int length) throws IOException {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        File file = folder.newFile();
+        Files.write(file.toPath(), data);
+        return file.toPath();
+    }
+
+    /**
+     * Helper method to read a stream fully with the given read size.
+     */
+    private static byte[] readAll(InputStream in, int readSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[readSize];
+        int n;
+        while ((n = in.read(chunk, 0, chunk.length)) != -1) {
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Tests that file content is returned unchanged for sizes around chunk boundaries.
+     */
+    @Test
+    public void testRead_VariousSizes_ReturnsFileContent() throws IOException {
+        for (int length : new int[] {0, 1, 63, 64, 65, 256, 1000, 100_000}) {
+            Path file = writeRandom(length);
+            try (InputStream in = new ReadAheadInputStream(file, 3, 64)) {
+                assertArrayEquals("Length " + length, Files.readAllBytes(file), readAll(in, 100));
+            }
+        }
+    }
+
+    /**
+     * Tests the single-byte read method.
+     */
+    @Test
+    public void testRead_SingleBytes_ReturnsFileContent() throws IOException {
+        Path file = writeRandom(500);
+        byte[] expected = Files.readAllBytes(file);
+
+        try (InputStream in = new ReadAheadInputStream(file, 2, 16)) {
+            for (byte b : expected) {
+                assertEquals(b & 0xFF, in.read());
+            }
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /**
+     * Tests that read-ahead extraction matches plain extraction, including gzip input.
+     */
+    @Test
+    public void testExtractFromFile_ReadAheadMode_MatchesPlainExtraction() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("name").append(i).append(",,").append(i % 7).append(i % 100 == 0 ? "\r\n\n" : "\n");
+        }
+        File plain = folder.newFile("data.csv");
+        Files.write(plain.toPath(), builder.toString().getBytes());
+        File compressed = folder.newFile("data.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed.toPath()))) {
+            out.write(builder.toString().getBytes());
+        }
+
+        List<String[]> expected = new FileExtractor().extractFromFile(plain.getAbsolutePath());
+        FileExtractor readAhead = new FileExtractor(',', 4, 1000);
+        for (File file : new File[] {plain, compressed}) {
+            List<String[]> actual = readAhead.extractFromFile(file.getAbsolutePath());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    /**
+     * Tests that a missing file raises an IOException when opened.
+     */
+    @Test(expected = IOException.class)
+    public void testConstructor_NonExistentFile_ThrowsIOException() throws IOException {
+        new ReadAheadInputStream(Path.of("non-existent-file.csv"));
+    }
+
+    /**
+     * Tests that invalid buffer settings are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ZeroBuffers_ThrowsException() throws IOException {
+        new FileExtractor(',', -1, 1024);
+    }
+}
@@ -0,0 +1,93 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RecordCounter class.
+ * Verifies that byte-level counting agrees with full extraction.
+ */
+public class RecordCounterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Helper method to write a temporary CSV file.
+     *
+     * @param content the file content
+     * @return the absolute path to the file
+     */
+    private String writeFile(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes());
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Tests that counts agree with extractFromFile for tricky line layouts,
+     * using a tiny buffer so lines straddle block boundaries.
+     */
+    @Test
+    public void testCount_EdgeCases_MatchesExtraction() throws IOException {
+        String[] contents = {
+            "",
+            "\n\n\n",
+            "a",
+            "a\n",
+            "a\r\nb\r\n\r\n",
+            "a\rb\r",
+            "  \t \n x \n\t\n,,,\n",
+            "John,Doe,30,Engineer\n\nJane,Smith,25,Designer\n   \nBob,Johnson,35,Manager"
+        };
+        FileExtractor extractor = new FileExtractor();
+
+        for (String content : contents) {
+            String filePath = writeFile(content);
+            long expected = extractor.extractFromFile(filePath).size();
+
+            assertEquals("Default buffer: " + content, expected, new RecordCounter().count(filePath));
+            assertEquals("Tiny buffer: " + content, expected, new RecordCounter(3).count(filePath));
+        }
+    }
+
+    /**
+     * Tests that getRecordCount counts a large file with interleaved blank lines.
+     */
+    @Test
+    public void testGetRecordCount_LargeFile_MatchesExtraction() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            content.append("row").append(i).append(",value\n");
+            if (i % 7 == 0) {
+                content.append(" \n");
+            }
+        }
+        String filePath = writeFile(content.toString());
+
+        assertEquals(10000, new FileExtractor().getRecordCount(filePath));
+    }
+
+    /**
+     * Tests that a missing file raises an IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testCount_NonExistentFile_ThrowsIOException() throws IOException {
+        new RecordCounter().count("non-existent-file.csv");
+    }
+
+    /**
+     * Tests that a non-positive buffer size is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NonPositiveBuffer_ThrowsException() {
+        new RecordCounter(0);
+    }
+}
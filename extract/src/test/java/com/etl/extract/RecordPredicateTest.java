@@ -0,0 +1,155 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RecordPredicate class.
+ * Verifies each predicate on tokenized lines and pushdown through FileExtractor.
+ */
+public class RecordPredicateTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FieldTokenizer tokenizer = new FieldTokenizer();
+
+    /**
+     * Helper method to test a predicate against a single line.
+     */
+    private boolean matches(RecordPredicate predicate, String line) {
+        return predicate.test(tokenizer.reset(line));
+    }
+
+    /**
+     * Tests that the field count predicate follows String.split field counts.
+     */
+    @Test
+    public void testMinFieldCount_VariousLines_UsesSplitCounts() {
+        RecordPredicate predicate = RecordPredicate.minFieldCount(1);
+
+        assertTrue(matches(predicate, "a"));
+        assertTrue(matches(predicate, " , "));
+        assertFalse("Only empty fields", matches(predicate, ",,,"));
+        assertTrue(matches(RecordPredicate.minFieldCount(3), "a,b,c"));
+        assertFalse(matches(RecordPredicate.minFieldCount(3), "a,b,,"));
+    }
+
+    /**
+     * Tests exact column matching, including columns past the end of the line.
+     */
+    @Test
+    public void testColumnEquals_VariousLines_MatchesExactly() {
+        RecordPredicate predicate = RecordPredicate.columnEquals(1, "Doe");
+
+        assertTrue(matches(predicate, "John,Doe,30"));
+        assertFalse(matches(predicate, "John,Doe ,30"));
+        assertFalse(matches(predicate, "John,Do"));
+        assertFalse("Missing column", matches(predicate, "John"));
+    }
+
+    /**
+     * Tests prefix matching on a column.
+     */
+    @Test
+    public void testColumnStartsWith_VariousLines_MatchesPrefix() {
+        RecordPredicate predicate = RecordPredicate.columnStartsWith(0, "Jo");
+
+        assertTrue(matches(predicate, "John,Doe"));
+        assertTrue(matches(predicate, "Jo,Doe"));
+        assertFalse(matches(predicate, "J,Doe"));
+        assertFalse(matches(predicate, "Jane,Doe"));
+        assertTrue("Empty prefix", matches(RecordPredicate.columnStartsWith(0, ""), ",x"));
+    }
+
+    /**
+     * Tests numeric range checks, including signs, padding and non-numeric values.
+     */
+    @Test
+    public void testColumnInRange_VariousLines_ParsesIntegers() {
+        RecordPredicate predicate = RecordPredicate.columnInRange(1, -5, 30);
+
+        assertTrue(matches(predicate, "a,30"));
+        assertTrue(matches(predicate, "a, 7 "));
+        assertTrue(matches(predicate, "a,-5"));
+        assertTrue(matches(predicate, "a,+0"));
+        assertFalse(matches(predicate, "a,31"));
+        assertFalse(matches(predicate, "a,-6"));
+        assertFalse(matches(predicate, "a,3x"));
+        assertFalse(matches(predicate, "a,-"));
+        assertFalse(matches(predicate, "a,"));
+        assertFalse(matches(predicate, "a,99999999999999999999"));
+    }
+
+    /**
+     * Tests the and, or and negate combinators.
+     */
+    @Test
+    public void testCombinators_MixedPredicates_CombineResults() {
+        RecordPredicate john = RecordPredicate.columnEquals(0, "John");
+        RecordPredicate young = RecordPredicate.columnInRange(2, 0, 29);
+
+        assertFalse(matches(john.and(young), "John,Doe,30"));
+        assertTrue(matches(john.or(young), "John,Doe,30"));
+        assertTrue(matches(john.or(young), "Jane,Doe,25"));
+        assertTrue(matches(john.negate(), "Jane,Doe,25"));
+    }
+
+    /**
+     * Tests that pushdown returns the same records as filtering after extraction.
+     */
+    @Test
+    public void testExtractMatching_SelectiveFilter_MatchesPostFilter() throws IOException {
+        File file = folder.newFile("people.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("user").append(i).append(',').append(i % 10 == 0 ? "keep" : "drop")
+                    .append(',').append(i).append('\n');
+            if (i % 7 == 0) {
+                content.append(",,\n");
+            }
+        }
+        Files.write(file.toPath(), content.toString().getBytes());
+        FileExtractor extractor = new FileExtractor();
+
+        List<String[]> pushed = extractor.extractMatching(file.getAbsolutePath(),
+                RecordPredicate.minFieldCount(1).and(RecordPredicate.columnEquals(1, "keep")));
+        List<String[]> expected = new ArrayList<>();
+        for (String[] record : extractor.extractFromFile(file.getAbsolutePath())) {
+            if (record.length > 1 && record[1].equals("keep")) {
+                expected.add(record);
+            }
+        }
+
+        assertEquals(100, pushed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), pushed.get(i));
+        }
+    }
+
+    /**
+     * Tests that predicates see original column positions when combined with projection.
+     */
+    @Test
+    public void testForEachMatchingRecord_WithProjection_FiltersBeforeProjecting() throws IOException {
+        File file = folder.newFile("people.csv");
+        Files.write(file.toPath(), "John,Doe,30\nJane,Smith,25\nBob,Johnson,35\n".getBytes());
+        List<String[]> received = new ArrayList<>();
+
+        int count = new FileExtractor().forEachMatchingRecord(file.getAbsolutePath(),
+                RecordPredicate.columnInRange(2, 30, 40), new int[] {1}, received::add);
+
+        assertEquals(2, count);
+        assertArrayEquals(new String[] {"Doe"}, received.get(0));
+        assertArrayEquals(new String[] {"Johnson"}, received.get(1));
+    }
+}
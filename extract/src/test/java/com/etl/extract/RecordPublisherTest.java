@@ -0,0 +1,240 @@
+package com.etl.extract;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RecordPublisher class.
+ * Uses a same-thread executor so demand and delivery can be checked step by step.
+ */
+public class RecordPublisherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Subscriber that records every signal and requests nothing by itself.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<List<String[]>> {
+        Flow.Subscription subscription;
+        final List<List<String[]>> batches = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<String[]> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Helper method to write a file with the given number of records.
+     */
+    private String writeRecords(int count) throws IOException {
+        File file = folder.newFile();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append("user").append(i).append(",x\n");
+        }
+        Files.write(file.toPath(), content.toString().getBytes());
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Tests that batches are only delivered as they are requested.
+     */
+    @Test
+    public void testSubscribe_PartialDemand_DeliversOnlyRequestedBatches() throws IOException {
+        String path = writeRecords(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords(path, RecordPredicate.all(), null, 3, Runnable::run).subscribe(subscriber);
+
+        assertTrue("Nothing before the first request", subscriber.batches.isEmpty());
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.batches.size());
+        assertEquals("user3", subscriber.batches.get(1).get(0)[0]);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(10);
+        assertEquals(4, subscriber.batches.size());
+        assertEquals(1, subscriber.batches.get(3).size());
+        assertTrue(subscriber.completed);
+    }
+
+    /**
+     * Tests that the end of input is not read ahead after a full batch, so completion
+     * waits for the next request.
+     */
+    @Test
+    public void testSubscribe_LastBatchFull_CompletesOnNextRequest() throws IOException {
+        String path = writeRecords(6);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords(path, RecordPredicate.all(), null, 3, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.batches.size());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertEquals(2, subscriber.batches.size());
+        assertTrue(subscriber.completed);
+    }
+
+    /**
+     * Tests that an unchecked IOException thrown by the subscriber is rethrown rather than
+     * reported back to it as a read failure.
+     */
+    @Test
+    public void testRequest_SubscriberThrows_PropagatesUnchecked() throws IOException {
+        UncheckedIOException failure = new UncheckedIOException(new IOException("load failed"));
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(List<String[]> batch) {
+                throw failure;
+            }
+        };
+        new FileExtractor().publishRecords(writeRecords(3), RecordPredicate.all(), null, 2, Runnable::run)
+                .subscribe(subscriber);
+
+        try {
+            subscriber.subscription.request(1);
+            fail("Should rethrow the subscriber's exception");
+        } catch (UncheckedIOException e) {
+            assertSame(failure, e);
+        }
+        assertNull(subscriber.error);
+    }
+
+    /**
+     * Tests that filters and projection are applied before records are published.
+     */
+    @Test
+    public void testSubscribe_WithPredicateAndColumns_PublishesMatchingProjection() throws IOException {
+        String path = writeRecords(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords(path, RecordPredicate.columnStartsWith(0, "user1"), new int[] {1},
+                100, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(1, subscriber.batches.size());
+        assertArrayEquals(new String[] {"x"}, subscriber.batches.get(0).get(0));
+        assertTrue(subscriber.completed);
+    }
+
+    /**
+     * Tests that cancelling stops delivery.
+     */
+    @Test
+    public void testCancel_AfterFirstBatch_StopsDelivery() throws IOException {
+        String path = writeRecords(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords(path, RecordPredicate.all(), null, 2, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(1, subscriber.batches.size());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    /**
+     * Tests that a missing file is reported through onError.
+     */
+    @Test
+    public void testSubscribe_NonExistentFile_SignalsIOException() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords("non-existent-file.csv", RecordPredicate.all(), null, 2, Runnable::run)
+                .subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof IOException);
+    }
+
+    /**
+     * Tests that a non-positive request is reported through onError.
+     */
+    @Test
+    public void testRequest_NonPositive_SignalsIllegalArgument() throws IOException {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new FileExtractor().publishRecords(writeRecords(3), RecordPredicate.all(), null, 2, Runnable::run)
+                .subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    /**
+     * Tests a full pass on a thread pool with one batch requested at a time.
+     */
+    @Test
+    public void testSubscribe_OneAtATimeOnPool_DeliversAllRecordsInOrder() throws Exception {
+        String path = writeRecords(1000);
+        List<String[]> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        new FileExtractor().publishRecords(path, RecordPredicate.all(), null, 64, pool)
+                .subscribe(new RecordingSubscriber() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        super.onSubscribe(subscription);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(List<String[]> batch) {
+                        assertTrue(batch.size() <= 64);
+                        received.addAll(batch);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.countDown();
+                    }
+                });
+
+        try {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1000, received.size());
+        assertEquals("user999", received.get(999)[0]);
+    }
+}
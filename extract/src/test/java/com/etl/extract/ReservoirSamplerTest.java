@@ -0,0 +1,95 @@
+package com.etl.extract;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReservoirSampler class.
+ */
+public class ReservoirSamplerTest {
+
+    /**
+     * Helper method to sample the integers 0..count-1.
+     */
+    private List<Integer> sample(int size, long seed, int count) {
+        ReservoirSampler<Integer> sampler = new ReservoirSampler<>(size, seed);
+        for (int i = 0; i < count; i++) {
+            sampler.offer(i);
+        }
+        assertEquals(count, sampler.getSeen());
+        return sampler.getSample();
+    }
+
+    /**
+     * Tests that a short stream is returned whole and in order.
+     */
+    @Test
+    public void testGetSample_FewerItemsThanSize_ReturnsAll() {
+        assertEquals(List.of(0, 1, 2), sample(10, 1, 3));
+    }
+
+    /**
+     * Tests that the same seed gives the same sample, and the sample is in stream order.
+     */
+    @Test
+    public void testGetSample_SameSeed_IsReproducible() {
+        List<Integer> first = sample(50, 42, 100_000);
+        List<Integer> second = sample(50, 42, 100_000);
+
+        assertEquals(50, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first, sample(50, 43, 100_000));
+        for (int i = 1; i < first.size(); i++) {
+            assertTrue("Sample should keep stream order", first.get(i - 1) < first.get(i));
+        }
+    }
+
+    /**
+     * Tests that every position is picked with roughly equal probability.
+     */
+    @Test
+    public void testGetSample_ManyRuns_IsUniform() {
+        int items = 100;
+        int runs = 20_000;
+        int[] hits = new int[items];
+        for (int run = 0; run < runs; run++) {
+            for (int item : sample(10, run, items)) {
+                hits[item]++;
+            }
+        }
+
+        // Each item is expected 2000 times; allow a wide margin
+        for (int i = 0; i < items; i++) {
+            assertTrue("Item " + i + " picked " + hits[i] + " times", hits[i] > 1700 && hits[i] < 2300);
+        }
+    }
+
+    /**
+     * Tests that the converter is only called for items entering the sample.
+     */
+    @Test
+    public void testOffer_WithConverter_ConvertsOnlySelectedItems() {
+        ReservoirSampler<String> sampler = new ReservoirSampler<>(10, 7);
+        int[] conversions = new int[1];
+        for (int i = 0; i < 100_000; i++) {
+            sampler.offer(i, value -> {
+                conversions[0]++;
+                return String.valueOf(value);
+            });
+        }
+
+        assertEquals(10, sampler.getSample().size());
+        assertTrue("Converted " + conversions[0] + " items", conversions[0] < 500);
+    }
+
+    /**
+     * Tests that a non-positive size is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ZeroSize_ThrowsException() {
+        new ReservoirSampler<String>(0, 1);
+    }
+}
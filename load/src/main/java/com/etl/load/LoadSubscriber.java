@@ -0,0 +1,105 @@
+package com.etl.load;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Loads batches of records from a publisher into a local database.
+ * Only a fixed number of batches is requested ahead, and a new batch is requested
+ * after each one is loaded, so a slow loader throttles the publisher.
+ * Demonstrates Gradle's task graph with cross-module streaming.
+ */
+public class LoadSubscriber implements Flow.Subscriber<List<String[]>> {
+    
+    private final Consumer<String[]> target;
+    private final UnaryOperator<String[]> transform;
+    private final int prefetch;
+    private final CompletableFuture<Integer> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int count;
+    
+    /**
+     * Creates a subscriber that loads records unchanged, one batch at a time.
+     * 
+     * @param loader the database to load into
+     */
+    public LoadSubscriber(LocalDBLoader loader) {
+        this(loader, UnaryOperator.identity(), 1);
+    }
+    
+    /**
+     * Creates a subscriber that transforms each record before loading it.
+     * 
+     * @param loader the database to load into
+     * @param transform applied to each record before it is loaded
+     * @param prefetch number of batches requested ahead of loading
+     */
+    public LoadSubscriber(LocalDBLoader loader, UnaryOperator<String[]> transform, int prefetch) {
+        this(loader::loadRecord, transform, prefetch);
+    }
+    
+    /**
+     * Creates a subscriber that transforms each record and hands it to a target,
+     * such as an aggregator that loads its own results.
+     * 
+     * @param target receives each transformed record
+     * @param transform applied to each record before it reaches the target
+     * @param prefetch number of batches requested ahead of loading
+     */
+    public LoadSubscriber(Consumer<String[]> target, UnaryOperator<String[]> transform, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Prefetch must be positive: " + prefetch);
+        }
+        this.target = target;
+        this.transform = transform;
+        this.prefetch = prefetch;
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+    
+    @Override
+    public void onNext(List<String[]> batch) {
+        try {
+            for (String[] record : batch) {
+                target.accept(transform.apply(record));
+                count++;
+            }
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            completion.completeExceptionally(e);
+            return;
+        }
+        subscription.request(1);
+    }
+    
+    @Override
+    public void onError(Throwable error) {
+        completion.completeExceptionally(error);
+    }
+    
+    @Override
+    public void onComplete() {
+        completion.complete(count);
+    }
+    
+    /**
+     * Gets the result of the subscription.
+     * 
+     * @return completes with the number of records loaded or handed to the target,
+     *         or exceptionally with the publisher's or the loader's error
+     */
+    public CompletableFuture<Integer> getCompletion() {
+        return completion;
+    }
+}
@@ -30,6 +30,19 @@ public class LocalDBLoader {
         return count;
     }
     
+    /**
+     * Loads a single record to the local database.
+     * Lets streaming callers load records as they arrive without building a list.
+     * 
+     * @param record the data record
+     * @return the ID assigned to the record
+     */
+    public int loadRecord(String[] record) {
+        int id = nextId++;
+        database.put(id, record);
+        return id;
+    }
+    
     /**
      * Gets all records from the database.
      * 
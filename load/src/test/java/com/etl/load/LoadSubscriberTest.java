@@ -0,0 +1,118 @@
+package com.etl.load;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LoadSubscriber class.
+ * Drives the subscriber by hand to check how much it requests.
+ */
+public class LoadSubscriberTest {
+
+    /**
+     * Subscription that only counts requests.
+     */
+    private static class CountingSubscription implements Flow.Subscription {
+        long requested;
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Helper method to create a batch of single-field records.
+     */
+    private List<String[]> batch(String... values) {
+        List<String[]> records = new ArrayList<>();
+        for (String value : values) {
+            records.add(new String[] {value});
+        }
+        return records;
+    }
+
+    /**
+     * Tests that the subscriber requests its prefetch, then one batch per batch loaded.
+     */
+    @Test
+    public void testOnNext_EachBatch_RequestsOneMore() {
+        LocalDBLoader loader = new LocalDBLoader();
+        LoadSubscriber subscriber = new LoadSubscriber(loader, record -> record, 2);
+        CountingSubscription subscription = new CountingSubscription();
+
+        subscriber.onSubscribe(subscription);
+        assertEquals(2, subscription.requested);
+
+        subscriber.onNext(batch("a", "b"));
+        assertEquals(3, subscription.requested);
+        assertEquals(2, loader.getRecordCount());
+    }
+
+    /**
+     * Tests that records are transformed before loading and the count is reported on completion.
+     */
+    @Test
+    public void testOnComplete_AfterBatches_CompletesWithCount() {
+        LocalDBLoader loader = new LocalDBLoader();
+        LoadSubscriber subscriber = new LoadSubscriber(loader, record -> new String[] {record[0].toUpperCase()}, 1);
+        subscriber.onSubscribe(new CountingSubscription());
+
+        subscriber.onNext(batch("a", "b"));
+        subscriber.onNext(batch("c"));
+        subscriber.onComplete();
+
+        assertEquals(Integer.valueOf(3), subscriber.getCompletion().join());
+        assertEquals("C", loader.getRecord(3)[0]);
+    }
+
+    /**
+     * Tests that a failing transform cancels the subscription and fails the completion.
+     */
+    @Test
+    public void testOnNext_TransformFails_CancelsSubscription() {
+        LoadSubscriber subscriber = new LoadSubscriber(new LocalDBLoader(), record -> {
+            throw new IllegalStateException("bad record");
+        }, 1);
+        CountingSubscription subscription = new CountingSubscription();
+        subscriber.onSubscribe(subscription);
+
+        subscriber.onNext(batch("a"));
+
+        assertTrue(subscription.cancelled);
+        try {
+            subscriber.getCompletion().join();
+            fail("Completion should fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Tests that a consumer target receives every transformed record.
+     */
+    @Test
+    public void testOnNext_ConsumerTarget_ReceivesTransformedRecords() {
+        List<String[]> received = new ArrayList<>();
+        LoadSubscriber subscriber = new LoadSubscriber(received::add, record -> new String[] {record[0] + "!"}, 1);
+        subscriber.onSubscribe(new CountingSubscription());
+
+        subscriber.onNext(batch("a", "b"));
+        subscriber.onComplete();
+
+        assertEquals(Integer.valueOf(2), subscriber.getCompletion().join());
+        assertEquals("b!", received.get(1)[0]);
+    }
+}
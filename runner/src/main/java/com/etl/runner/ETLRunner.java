@@ -1,12 +1,36 @@
 package com.etl.runner;
 
+import com.etl.extract.FieldDictionary;
 import com.etl.extract.FileExtractor;
+import com.etl.extract.IncrementalExtractor;
+import com.etl.extract.MultiFileExtractor;
+import com.etl.extract.ParsedFileCache;
+import com.etl.extract.RecordCounter;
+import com.etl.extract.RecordPublisher;
+import com.etl.extract.ReservoirSampler;
+import com.etl.transform.ColumnSketch;
 import com.etl.transform.DataTransformer;
+import com.etl.transform.Deduplicator;
+import com.etl.transform.GroupAggregator;
+import com.etl.transform.HashJoin;
+import com.etl.transform.RecordPipeline;
+import com.etl.transform.WindowAggregator;
 import com.etl.load.ConsoleLoader;
+import com.etl.load.LoadSubscriber;
 import com.etl.load.LocalDBLoader;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Main ETL Pipeline Runner.
@@ -14,32 +38,94 @@ import java.util.List;
  */
 public class ETLRunner {
     
+    /** Batches requested ahead by the loader in streaming mode. */
+    private static final int STREAM_PREFETCH = 2;
+    
     public static void main(String[] args) {
         if (args.length < 1) {
-            System.err.println("Usage: ETLRunner <file-path>");
-            System.err.println("Example: ETLRunner data.csv");
+            printUsage();
+            System.exit(1);
+        }
+        
+        RunnerOptions options;
+        try {
+            options = RunnerOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
             System.exit(1);
+            return;
         }
         
-        String filePath = args[0];
+        String filePath = options.getInputPath();
         System.out.println("Starting ETL Pipeline...");
         System.out.println("Input file: " + filePath);
         System.out.println();
         
+        if (options.isStreaming()) {
+            try {
+                System.out.println("Phases 1-3: EXTRACT, TRANSFORM, LOAD (Local DB, streaming)");
+                LocalDBLoader dbLoader = new LocalDBLoader();
+                int loadedCount = stream(options, dbLoader);
+                System.out.println("Loaded " + loadedCount + " records to local database");
+                System.out.println("ETL Pipeline completed successfully!");
+            } catch (IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        
         try {
             // Extract phase
             System.out.println("Phase 1: EXTRACT");
-            FileExtractor extractor = new FileExtractor();
-            List<String[]> rawData = extractor.extractFromFile(filePath);
+            FieldDictionary extractDictionary = options.getDictionarySize() > 0
+                    ? new FieldDictionary(options.getDictionarySize()) : null;
+            List<String[]> rawData = extract(options, extractDictionary);
             System.out.println("Extracted " + rawData.size() + " records");
+            printDictionaryStats(extractDictionary);
             System.out.println();
             
             // Transform phase
             System.out.println("Phase 2: TRANSFORM");
-            DataTransformer transformer = new DataTransformer();
-            List<String[]> transformedData = transformer.transform(rawData);
-            List<String[]> filteredData = transformer.filterByFieldCount(transformedData, 1);
-            System.out.println("Transformed and filtered " + filteredData.size() + " records");
+            FieldDictionary transformDictionary = options.getDictionarySize() > 0
+                    ? new FieldDictionary(options.getDictionarySize()) : null;
+            RecordPipeline pipeline = RecordPipeline.identity().normalize();
+            if (transformDictionary != null) {
+                pipeline = pipeline.mapFields(transformDictionary::intern);
+            }
+            // Normalize and filter in one pass; most paths already dropped short records while scanning
+            pipeline = pipeline.minFieldCount(options.getMinFields());
+            Deduplicator deduplicator = options.isDeduplicate() ? newDeduplicator(options, rawData.size()) : null;
+            if (deduplicator != null) {
+                pipeline = pipeline.then(deduplicator);
+            }
+            List<String[]> joined = options.getJoinPath() != null ? join(options, rawData, pipeline) : null;
+            if (joined != null) {
+                // Later phases consume the enriched records as they are
+                System.out.println("Joined into " + joined.size() + " records");
+                rawData = joined;
+                pipeline = RecordPipeline.identity();
+            }
+            List<String[]> filteredData;
+            if (options.getWindowSize() > 0) {
+                filteredData = window(options, rawData, pipeline);
+                System.out.println("Aggregated into " + filteredData.size() + " window rows");
+            } else if (options.getGroupByColumn() >= 0) {
+                GroupAggregator groups = aggregate(options, rawData, pipeline);
+                filteredData = groups.toRecords();
+                System.out.println("Aggregated into " + groups.getGroupCount() + " groups");
+            } else if (joined != null) {
+                filteredData = joined;
+            } else {
+                filteredData = transform(options, rawData, pipeline);
+                System.out.println("Transformed and filtered " + filteredData.size() + " records");
+            }
+            printDedupStats(deduplicator);
+            if (options.getSketchColumn() >= 0) {
+                printSketch(new DataTransformer().sketch(filteredData, options.getSketchColumn()));
+            }
+            printDictionaryStats(transformDictionary);
             System.out.println();
             
             // Load phase - Console
@@ -70,4 +156,376 @@ public class ETLRunner {
             System.exit(1);
         }
     }
+    
+    /**
+     * Runs the extract phase according to the command line options.
+     * Record filters are evaluated while scanning, so rejected lines are never split.
+     * Incremental and cached extraction return every record; the transform phase
+     * applies the field-count filter to them.
+     * 
+     * @param options the parsed options
+     * @return the extracted records
+     * @throws IOException if extraction fails
+     */
+    static List<String[]> extract(RunnerOptions options) throws IOException {
+        return extract(options, null);
+    }
+    
+    /**
+     * Runs the extract phase, sharing repeated field values through a dictionary.
+     * Files are read one after another because the dictionary is not thread-safe.
+     * 
+     * @param options the parsed options
+     * @param dictionary the dictionary holding shared values, or null to copy every field
+     * @return the extracted records
+     * @throws IOException if extraction fails
+     */
+    static List<String[]> extract(RunnerOptions options, FieldDictionary dictionary) throws IOException {
+        List<Path> inputs = MultiFileExtractor.resolveInputs(options.getInputPath());
+        List<String[]> records = new ArrayList<>();
+        if (options.getCheckpointPath() != null) {
+            IncrementalExtractor extractor = new IncrementalExtractor(Path.of(options.getCheckpointPath()));
+            for (Path input : inputs) {
+                extractor.forEachNewRecord(input.toString(), records::add);
+            }
+            return records;
+        }
+        FileExtractor extractor = newExtractor(options);
+        if (options.getCachePath() != null) {
+            ParsedFileCache cache = new ParsedFileCache(Path.of(options.getCachePath()), options.getCacheSizeBytes(),
+                    extractor);
+            for (Path input : inputs) {
+                records.addAll(cache.extractFromFile(input.toString()));
+            }
+            return records;
+        }
+        if (options.getLimit() > 0) {
+            for (Path input : inputs) {
+                if (records.size() == options.getLimit()) {
+                    break;
+                }
+                extractor.forEachMatchingRecordLimited(input.toString(), options.getPredicate(), options.getColumns(),
+                        options.getLimit() - records.size(), records::add);
+            }
+            return records;
+        }
+        if (options.getSampleSize() > 0) {
+            ReservoirSampler<String[]> sampler = new ReservoirSampler<>(options.getSampleSize(), options.getSeed());
+            for (Path input : inputs) {
+                extractor.sampleMatchingRecords(input.toString(), options.getPredicate(), options.getColumns(), sampler);
+            }
+            return sampler.getSample();
+        }
+        if (dictionary != null) {
+            for (Path input : inputs) {
+                extractor.forEachMatchingRecordInterned(input.toString(), options.getPredicate(), options.getColumns(),
+                        dictionary, records::add);
+            }
+            return records;
+        }
+        if (inputs.size() == 1) {
+            extractor.forEachMatchingRecord(inputs.get(0).toString(), options.getPredicate(), options.getColumns(),
+                    records::add);
+            return records;
+        }
+        new MultiFileExtractor(extractor, options.getThreads()).forEachMatchingRecord(
+                inputs, options.isOrdered(), options.getPredicate(), options.getColumns(), records::add);
+        return records;
+    }
+    
+    /**
+     * Runs the transform phase, on a dedicated fork/join pool when more than one
+     * transform thread is requested. With {@code --in-place} the extracted records
+     * and their list are reused for the output.
+     * 
+     * @param options the parsed options
+     * @param records the extracted records; modified when transforming in place
+     * @param pipeline the operators to apply to each record
+     * @return the transformed records in input order
+     */
+    static List<String[]> transform(RunnerOptions options, List<String[]> records, RecordPipeline pipeline) {
+        DataTransformer transformer = new DataTransformer();
+        if (options.getTransformThreads() == 1) {
+            return options.isInPlace() ? transformer.transformInPlace(records, pipeline)
+                    : transformer.transform(records, pipeline);
+        }
+        ForkJoinPool pool = new ForkJoinPool(options.getTransformThreads());
+        try {
+            return options.isInPlace()
+                    ? transformer.transformParallelInPlace(records, pipeline, pool,
+                            DataTransformer.DEFAULT_PARALLEL_THRESHOLD)
+                    : transformer.transformParallel(records, pipeline, pool, DataTransformer.DEFAULT_PARALLEL_THRESHOLD);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * Runs the transform phase and aggregates its output per group. With a single
+     * transform thread, records are aggregated as they leave the pipeline, so the
+     * transformed records are never collected.
+     * 
+     * @param options the parsed options, including the group-by and aggregate columns
+     * @param records the extracted records
+     * @param pipeline the operators to apply to each record
+     * @return the per-group results
+     */
+    static GroupAggregator aggregate(RunnerOptions options, List<String[]> records, RecordPipeline pipeline) {
+        GroupAggregator aggregator = new GroupAggregator(options.getGroupByColumn(), options.getAggregateColumn());
+        if (options.getTransformThreads() == 1) {
+            pipeline.run(records, aggregator);
+        } else {
+            transform(options, records, pipeline).forEach(aggregator);
+        }
+        return aggregator;
+    }
+    
+    /**
+     * Runs the transform phase and aggregates its output per window, grouped by the
+     * {@code --group-by} column if set. Windows still open at the end are flushed.
+     * 
+     * @param options the parsed options, including the window settings
+     * @param records the extracted records
+     * @param pipeline the operators to apply to each record
+     * @return the rows of every window, in window order
+     */
+    static List<String[]> window(RunnerOptions options, List<String[]> records, RecordPipeline pipeline) {
+        List<String[]> rows = new ArrayList<>();
+        WindowAggregator windows = newWindowAggregator(options, rows::addAll);
+        pipeline.run(records, windows);
+        windows.flush();
+        return rows;
+    }
+    
+    /**
+     * Runs the transform phase and enriches its output with the matching records of
+     * the {@code --join} reference file, whose fields are normalized the same way.
+     * With a single transform thread, records are joined as they leave the pipeline.
+     * 
+     * @param options the parsed options, including the join settings
+     * @param records the extracted records
+     * @param pipeline the operators to apply to each record
+     * @return the joined records in input order
+     * @throws IOException if reading the reference file or spilling fails
+     */
+    static List<String[]> join(RunnerOptions options, List<String[]> records, RecordPipeline pipeline)
+            throws IOException {
+        List<String[]> joined = new ArrayList<>();
+        try (HashJoin join = newHashJoin(options, joined::add)) {
+            join.build(newExtractor(options), options.getJoinPath(), new DataTransformer()::transformRecord);
+            if (options.getTransformThreads() == 1) {
+                pipeline.run(records, join);
+            } else {
+                transform(options, records, pipeline).forEach(join);
+            }
+            join.finish();
+            printJoinStats(join);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return joined;
+    }
+    
+    /**
+     * Streams every input file through transform into the loader. Each file is
+     * published in batches, and reading only advances as fast as the loader
+     * requests more, so memory stays bounded regardless of input size. With
+     * {@code --window}, records feed a window aggregator instead, and the rows of
+     * each window are loaded as soon as it closes. With {@code --join}, the reference
+     * file is read first and each record is enriched before loading or windowing.
+     * If the reference table exceeds {@code --join-memory-mb} and spills, every
+     * streamed record is written to disk and nothing is loaded until the input ends;
+     * memory stays bounded, but records and closed windows arrive all at once at the
+     * end. A warning is printed when that happens.
+     * 
+     * @param options the parsed options
+     * @param loader the database to load into
+     * @return number of records or window rows loaded
+     * @throws IOException if extraction fails
+     */
+    static int stream(RunnerOptions options, LocalDBLoader loader) throws IOException {
+        DataTransformer transformer = new DataTransformer();
+        FileExtractor extractor = newExtractor(options);
+        WindowAggregator windows = options.getWindowSize() > 0
+                ? newWindowAggregator(options, rows -> rows.forEach(loader::loadRecord)) : null;
+        Consumer<String[]> target = windows != null ? windows : loader::loadRecord;
+        HashJoin join = null;
+        if (options.getJoinPath() != null) {
+            join = newHashJoin(options, target);
+            target = join;
+        }
+        List<Path> inputs = MultiFileExtractor.resolveInputs(options.getInputPath());
+        // Size the Bloom filter for the whole stream; a full filter would flag every new record
+        long inputRecords = options.isDeduplicate() && options.getDedupExpectedRecords() == 0
+                ? countRecords(inputs) : 0;
+        Deduplicator deduplicator = options.isDeduplicate() ? newDeduplicator(options, inputRecords) : null;
+        if (deduplicator != null) {
+            Consumer<String[]> next = target;
+            target = record -> {
+                if (!deduplicator.isDuplicate(record)) {
+                    next.accept(record);
+                }
+            };
+        }
+        int initialCount = loader.getRecordCount();
+        // Reads block, so they run on a thread of their own instead of the common pool
+        ExecutorService reader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "stream-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            if (join != null) {
+                join.build(extractor, options.getJoinPath(), transformer::transformRecord);
+                if (join.isSpilled()) {
+                    System.out.println("Warning: join reference table exceeds --join-memory-mb; records are"
+                            + " spilled to disk and only loaded once the input ends");
+                }
+            }
+            for (Path input : inputs) {
+                LoadSubscriber subscriber = new LoadSubscriber(target, transformer::transformRecord, STREAM_PREFETCH);
+                extractor.publishRecords(input.toString(), options.getPredicate(), options.getColumns(),
+                        RecordPublisher.DEFAULT_BATCH_SIZE, reader).subscribe(subscriber);
+                try {
+                    subscriber.getCompletion().join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof UncheckedIOException) {
+                        throw ((UncheckedIOException) cause).getCause();
+                    }
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+            if (join != null) {
+                join.finish();
+                printJoinStats(join);
+            }
+        } finally {
+            reader.shutdown();
+            if (join != null) {
+                join.close();
+            }
+        }
+        if (windows != null) {
+            windows.flush();
+        }
+        printDedupStats(deduplicator);
+        return loader.getRecordCount() - initialCount;
+    }
+    
+    private static FileExtractor newExtractor(RunnerOptions options) {
+        return new FileExtractor(',', options.getReadAheadBuffers(), options.getReadAheadBufferSize());
+    }
+    
+    private static WindowAggregator newWindowAggregator(RunnerOptions options, Consumer<List<String[]>> sink) {
+        return new WindowAggregator(options.getWindowSize(), options.getWindowSlide(), options.getWindowColumn(),
+                options.getGroupByColumn(), options.getAggregateColumn(), sink);
+    }
+    
+    private static void printDictionaryStats(FieldDictionary dictionary) {
+        if (dictionary != null) {
+            System.out.printf("Dictionary: %d distinct values, %.1f%% hit rate, ~%d KB saved%n",
+                    dictionary.getEntryCount(), dictionary.getHitRate() * 100,
+                    dictionary.getEstimatedBytesSaved() / 1024);
+        }
+    }
+    
+    private static HashJoin newHashJoin(RunnerOptions options, Consumer<String[]> sink) {
+        return new HashJoin(options.getJoinKeyColumn(), options.getJoinReferenceKeyColumn(), options.isLeftJoin(),
+                options.getJoinMemoryBytes(), Paths.get(options.getJoinSpillPath()), sink);
+    }
+    
+    private static void printJoinStats(HashJoin join) {
+        System.out.printf("Join: %d reference records, %d matched, %d unmatched%s%n", join.getReferenceCount(),
+                join.getMatchedCount(), join.getUnmatchedCount(),
+                join.isSpilled() ? ", spilled to " + HashJoin.PARTITIONS + " partitions" : "");
+    }
+    
+    private static Deduplicator newDeduplicator(RunnerOptions options, long inputRecords) {
+        long expectedRecords = options.getDedupExpectedRecords() > 0 ? options.getDedupExpectedRecords() : inputRecords;
+        return new Deduplicator(Math.max(1, expectedRecords), options.getDedupFalsePositiveRate(),
+                options.getDedupBits());
+    }
+    
+    /**
+     * Counts the non-empty lines of the inputs from raw bytes, without parsing them.
+     * 
+     * @param inputs the input files
+     * @return total line count, an upper bound on the records streamed
+     * @throws IOException if a file cannot be read
+     */
+    private static long countRecords(List<Path> inputs) throws IOException {
+        RecordCounter counter = new RecordCounter();
+        long total = 0;
+        for (Path input : inputs) {
+            total += counter.count(input.toString());
+        }
+        return total;
+    }
+    
+    private static void printDedupStats(Deduplicator deduplicator) {
+        if (deduplicator != null) {
+            System.out.printf("Dedup: %d duplicates dropped, %d distinct records, %d suspected, ~%d KB%n",
+                    deduplicator.getDuplicateCount(), deduplicator.getDistinctCount(),
+                    deduplicator.getSuspectedCount(), deduplicator.getSizeBytes() / 1024);
+        }
+    }
+    
+    private static void printSketch(ColumnSketch sketch) {
+        System.out.printf("Column profile: %d values, ~%d distinct%n", sketch.getCount(), sketch.getDistinctCount());
+        if (sketch.getNumericCount() > 0) {
+            System.out.printf("  numeric: min %s, p50 %s, p90 %s, p99 %s, max %s%n", sketch.getQuantile(0),
+                    sketch.getQuantile(0.5), sketch.getQuantile(0.9), sketch.getQuantile(0.99), sketch.getQuantile(1));
+        }
+        for (Map.Entry<String, Long> top : sketch.getTopValues()) {
+            System.out.println("  ~" + top.getValue() + " x " + top.getKey());
+        }
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage: ETLRunner <file-path> [options]");
+        System.err.println("Example: ETLRunner data.csv");
+        System.err.println("Options:");
+        System.err.println("  <file-path> may also be a directory or a glob such as 'drops/shard-*.csv'");
+        System.err.println("  --checkpoint=<file>  extract only records appended since the last run");
+        System.err.println("  --threads=<n>        files to read concurrently (default: number of cores)");
+        System.err.println("  --ordered=<bool>     keep multi-file records in file order (default: true)");
+        System.err.println("  --columns=<i,j,...>  extract only these zero-based columns");
+        System.err.println("  --min-fields=<n>     drop records with fewer fields (default: 1)");
+        System.err.println("  --where=<filter>     keep records matching <col>=<value>, <col>^=<prefix>");
+        System.err.println("                       or <col>:<min>..<max>; repeat to combine");
+        System.err.println("  --limit=<n>          stop after the first n records");
+        System.err.println("  --sample=<k>         run on a uniform random sample of k records");
+        System.err.println("  --seed=<s>           random seed for --sample (default: 0)");
+        System.err.println("  --stream=<bool>      load while extracting, with bounded memory (default: false)");
+        System.err.println("  --cache=<dir>        reuse parsed records of unchanged input files");
+        System.err.println("  --cache-size-mb=<n>  size limit of the cache directory (default: 256)");
+        System.err.println("  --dictionary-size=<n> share repeated values, keeping up to n per column");
+        System.err.println("  --transform-threads=<n> transform on n threads, keeping record order (default: 1)");
+        System.err.println("  --in-place=<bool>    transform the extracted records without copying them (default: false)");
+        System.err.println("  --group-by=<i>       load count per distinct value of column i instead of records");
+        System.err.println("  --aggregate=<j>      with --group-by, also load sum, min, max and average of column j");
+        System.err.println("  --sketch=<i>         print approximate distinct count, quantiles and top values of column i");
+        System.err.println("  --window=<n>         load aggregates per window of n records (or time units), also with --stream");
+        System.err.println("  --slide=<n>          start a window every n records or time units (default: --window)");
+        System.err.println("  --window-column=<i>  assign records to windows by the numeric time in column i");
+        System.err.println("  --dedup=<bool>       drop records equal to one already seen (default: false)");
+        System.err.println("  --dedup-fpp=<p>      Bloom filter false-positive rate for --dedup (default: 0.01)");
+        System.err.println("  --dedup-bits=<n>     record fingerprint width for --dedup, 64 or 128 (default: 128)");
+        System.err.println("  --dedup-expected=<n> distinct records to size --dedup for (default: input line count)");
+        System.err.println("  --join=<file>        enrich each record with the matching records of a reference CSV");
+        System.err.println("  --join-key=<i>       input column to join on (default: 0)");
+        System.err.println("  --join-reference-key=<i> reference column to join on (default: 0)");
+        System.err.println("  --join-type=<type>   inner or left (default: inner)");
+        System.err.println("  --join-memory-mb=<n> reference table size before spilling to disk (default: 64)");
+        System.err.println("  --join-spill-dir=<d> directory for join partition files (default: system temp)");
+        System.err.println("  --read-ahead=<n>     fetch n chunks ahead of parsing asynchronously");
+        System.err.println("  --read-ahead-kb=<n>  size of each read-ahead chunk (default: 1024)");
+    }
 }
@@ -0,0 +1,680 @@
+package com.etl.runner;
+
+import com.etl.extract.FieldDictionary;
+import com.etl.extract.ReadAheadInputStream;
+import com.etl.extract.RecordPredicate;
+import com.etl.transform.Deduplicator;
+
+/**
+ * Command line options for the ETL runner.
+ * The first plain argument is the input path, which may be a file, a directory
+ * or a glob pattern; everything else is a {@code --name=value} option.
+ */
+final class RunnerOptions {
+    
+    private static final int DEFAULT_CACHE_SIZE_MB = 256;
+    private static final int DEFAULT_JOIN_MEMORY_MB = 64;
+    
+    private String inputPath;
+    private String checkpointPath;
+    private int threads;
+    private boolean ordered = true;
+    private int[] columns;
+    private int minFields = 1;
+    private RecordPredicate filter;
+    private int limit;
+    private int sampleSize;
+    private long seed;
+    private boolean streaming;
+    private String cachePath;
+    private long cacheSizeBytes = DEFAULT_CACHE_SIZE_MB * 1024L * 1024L;
+    private int dictionarySize;
+    private int readAheadBuffers;
+    private int readAheadBufferSize = ReadAheadInputStream.DEFAULT_BUFFER_SIZE;
+    private int transformThreads = 1;
+    private boolean inPlace;
+    private int groupByColumn = -1;
+    private int aggregateColumn = -1;
+    private int sketchColumn = -1;
+    private long windowSize;
+    private long windowSlide;
+    private int windowColumn = -1;
+    private boolean deduplicate;
+    private double dedupFalsePositiveRate = Deduplicator.DEFAULT_FALSE_POSITIVE_RATE;
+    private int dedupBits = 128;
+    private long dedupExpectedRecords;
+    private String joinPath;
+    private int joinKeyColumn = -1;
+    private int joinReferenceKeyColumn = -1;
+    private String joinType;
+    private long joinMemoryBytes;
+    private String joinSpillPath;
+    
+    private RunnerOptions() {
+    }
+    
+    /**
+     * Parses command line arguments.
+     * 
+     * @param args the raw arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an option is unknown or malformed
+     */
+    static RunnerOptions parse(String[] args) {
+        RunnerOptions options = new RunnerOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                if (options.inputPath != null) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                options.inputPath = arg;
+                continue;
+            }
+            
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Option needs a value: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "checkpoint":
+                    options.checkpointPath = value;
+                    break;
+                case "threads":
+                    options.threads = parsePositiveInt(name, value);
+                    break;
+                case "ordered":
+                    options.ordered = parseBoolean(name, value);
+                    break;
+                case "columns":
+                    options.columns = parseColumns(name, value);
+                    break;
+                case "min-fields":
+                    options.minFields = parsePositiveInt(name, value);
+                    break;
+                case "where":
+                    RecordPredicate where = parseWhere(name, value);
+                    options.filter = options.filter == null ? where : options.filter.and(where);
+                    break;
+                case "limit":
+                    options.limit = parsePositiveInt(name, value);
+                    break;
+                case "sample":
+                    options.sampleSize = parsePositiveInt(name, value);
+                    break;
+                case "seed":
+                    options.seed = parseLong(name, value);
+                    break;
+                case "stream":
+                    options.streaming = parseBoolean(name, value);
+                    break;
+                case "cache":
+                    options.cachePath = value;
+                    break;
+                case "cache-size-mb":
+                    options.cacheSizeBytes = parsePositiveInt(name, value) * 1024L * 1024L;
+                    break;
+                case "read-ahead":
+                    options.readAheadBuffers = parsePositiveInt(name, value);
+                    break;
+                case "read-ahead-kb":
+                    options.readAheadBufferSize = Math.multiplyExact(parsePositiveInt(name, value), 1024);
+                    break;
+                case "transform-threads":
+                    options.transformThreads = parsePositiveInt(name, value);
+                    break;
+                case "in-place":
+                    options.inPlace = parseBoolean(name, value);
+                    break;
+                case "group-by":
+                    options.groupByColumn = parseColumn(name, value);
+                    break;
+                case "aggregate":
+                    options.aggregateColumn = parseColumn(name, value);
+                    break;
+                case "sketch":
+                    options.sketchColumn = parseColumn(name, value);
+                    break;
+                case "window":
+                    options.windowSize = parsePositiveLong(name, value);
+                    break;
+                case "slide":
+                    options.windowSlide = parsePositiveLong(name, value);
+                    break;
+                case "window-column":
+                    options.windowColumn = parseColumn(name, value);
+                    break;
+                case "dedup":
+                    options.deduplicate = parseBoolean(name, value);
+                    break;
+                case "dedup-fpp":
+                    options.dedupFalsePositiveRate = parseFraction(name, value);
+                    break;
+                case "dedup-bits":
+                    options.dedupBits = parsePositiveInt(name, value);
+                    if (options.dedupBits != 64 && options.dedupBits != 128) {
+                        throw new IllegalArgumentException("--" + name + " needs 64 or 128: " + value);
+                    }
+                    break;
+                case "dedup-expected":
+                    options.dedupExpectedRecords = parsePositiveLong(name, value);
+                    break;
+                case "join":
+                    options.joinPath = value;
+                    break;
+                case "join-key":
+                    options.joinKeyColumn = parseColumn(name, value);
+                    break;
+                case "join-reference-key":
+                    options.joinReferenceKeyColumn = parseColumn(name, value);
+                    break;
+                case "join-type":
+                    if (!value.equals("inner") && !value.equals("left")) {
+                        throw new IllegalArgumentException("--" + name + " needs inner or left: " + value);
+                    }
+                    options.joinType = value;
+                    break;
+                case "join-memory-mb":
+                    options.joinMemoryBytes = parsePositiveInt(name, value) * 1024L * 1024L;
+                    break;
+                case "join-spill-dir":
+                    options.joinSpillPath = value;
+                    break;
+                case "dictionary-size":
+                    options.dictionarySize = parsePositiveInt(name, value);
+                    if (options.dictionarySize > FieldDictionary.MAX_ENTRIES_PER_COLUMN) {
+                        throw new IllegalArgumentException(
+                                "--" + name + " must not exceed " + FieldDictionary.MAX_ENTRIES_PER_COLUMN);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (options.inputPath == null) {
+            throw new IllegalArgumentException("Missing input file path");
+        }
+        if (options.columns != null && options.checkpointPath != null) {
+            throw new IllegalArgumentException("--columns cannot be combined with --checkpoint");
+        }
+        if (options.filter != null && options.checkpointPath != null) {
+            throw new IllegalArgumentException("--where cannot be combined with --checkpoint");
+        }
+        if ((options.limit > 0 || options.sampleSize > 0) && options.checkpointPath != null) {
+            throw new IllegalArgumentException("--limit and --sample cannot be combined with --checkpoint");
+        }
+        if (options.limit > 0 && options.sampleSize > 0) {
+            throw new IllegalArgumentException("--limit cannot be combined with --sample");
+        }
+        if (options.streaming && (options.checkpointPath != null || options.limit > 0 || options.sampleSize > 0)) {
+            throw new IllegalArgumentException("--stream cannot be combined with --checkpoint, --limit or --sample");
+        }
+        if (options.streaming && (options.threads > 1 || !options.ordered)) {
+            throw new IllegalArgumentException("--stream cannot be combined with --threads or --ordered=false");
+        }
+        if (options.cachePath != null && (options.columns != null || options.filter != null
+                || options.checkpointPath != null || options.limit > 0 || options.sampleSize > 0 || options.streaming)) {
+            throw new IllegalArgumentException("--cache only applies to full extraction of each input file");
+        }
+        if (options.dictionarySize > 0 && (options.checkpointPath != null || options.limit > 0
+                || options.sampleSize > 0 || options.streaming || options.cachePath != null)) {
+            throw new IllegalArgumentException(
+                    "--dictionary-size cannot be combined with --checkpoint, --limit, --sample, --stream or --cache");
+        }
+        if (options.transformThreads > 1 && options.dictionarySize > 0) {
+            throw new IllegalArgumentException("--transform-threads cannot be combined with --dictionary-size");
+        }
+        if (options.transformThreads > 1 && options.streaming) {
+            throw new IllegalArgumentException("--transform-threads cannot be combined with --stream");
+        }
+        if (options.inPlace && options.streaming) {
+            throw new IllegalArgumentException("--in-place cannot be combined with --stream");
+        }
+        if (options.aggregateColumn >= 0 && options.groupByColumn < 0) {
+            throw new IllegalArgumentException("--aggregate needs --group-by");
+        }
+        if (options.groupByColumn >= 0 && options.streaming && options.windowSize == 0) {
+            throw new IllegalArgumentException("--group-by needs --window when combined with --stream");
+        }
+        if ((options.windowSlide > 0 || options.windowColumn >= 0) && options.windowSize == 0) {
+            throw new IllegalArgumentException("--slide and --window-column need --window");
+        }
+        if (options.windowSlide > options.windowSize) {
+            throw new IllegalArgumentException("--slide must not exceed --window");
+        }
+        if (options.deduplicate && options.transformThreads > 1) {
+            throw new IllegalArgumentException("--dedup cannot be combined with --transform-threads");
+        }
+        if (options.joinPath == null && (options.joinKeyColumn >= 0 || options.joinReferenceKeyColumn >= 0
+                || options.joinType != null || options.joinMemoryBytes > 0 || options.joinSpillPath != null)) {
+            throw new IllegalArgumentException("--join-key, --join-reference-key, --join-type, --join-memory-mb"
+                    + " and --join-spill-dir need --join");
+        }
+        if (options.sketchColumn >= 0 && (options.streaming || options.groupByColumn >= 0 || options.windowSize > 0)) {
+            throw new IllegalArgumentException("--sketch cannot be combined with --stream, --group-by or --window");
+        }
+        return options;
+    }
+    
+    private static int parsePositiveInt(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--" + name + " needs a positive integer: " + value);
+    }
+    
+    private static long parsePositiveLong(String name, String value) {
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--" + name + " needs a positive integer: " + value);
+    }
+    
+    private static double parseFraction(String name, String value) {
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed > 0 && parsed < 1) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--" + name + " needs a number between 0 and 1: " + value);
+    }
+    
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " needs an integer: " + value);
+        }
+    }
+    
+    private static int parseColumn(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--" + name + " needs a zero-based column index: " + value);
+    }
+    
+    private static int[] parseColumns(String name, String value) {
+        String[] parts = value.split(",");
+        int[] parsed = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                parsed[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                parsed[i] = -1;
+            }
+            if (parsed[i] < 0) {
+                throw new IllegalArgumentException("--" + name + " needs zero-based column indexes: " + value);
+            }
+        }
+        return parsed;
+    }
+    
+    /**
+     * Parses a filter of the form {@code <col>=<value>}, {@code <col>^=<prefix>}
+     * or {@code <col>:<min>..<max>}.
+     */
+    private static RecordPredicate parseWhere(String name, String value) {
+        int digits = 0;
+        while (digits < value.length() && Character.isDigit(value.charAt(digits))) {
+            digits++;
+        }
+        if (digits > 0 && digits < value.length()) {
+            try {
+                int column = Integer.parseInt(value.substring(0, digits));
+                String rest = value.substring(digits);
+                if (rest.startsWith("^=")) {
+                    return RecordPredicate.columnStartsWith(column, rest.substring(2));
+                }
+                if (rest.startsWith("=")) {
+                    return RecordPredicate.columnEquals(column, rest.substring(1));
+                }
+                int range = rest.indexOf("..");
+                if (rest.startsWith(":") && range > 0) {
+                    long min = Long.parseLong(rest.substring(1, range).trim());
+                    long max = Long.parseLong(rest.substring(range + 2).trim());
+                    return RecordPredicate.columnInRange(column, min, max);
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+        }
+        throw new IllegalArgumentException(
+                "--" + name + " needs <col>=<value>, <col>^=<prefix> or <col>:<min>..<max>: " + value);
+    }
+    
+    private static boolean parseBoolean(String name, String value) {
+        if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.parseBoolean(value);
+        }
+        throw new IllegalArgumentException("--" + name + " needs true or false: " + value);
+    }
+    
+    /**
+     * Gets the input file path.
+     * 
+     * @return the input path
+     */
+    String getInputPath() {
+        return inputPath;
+    }
+    
+    /**
+     * Gets the checkpoint file for incremental extraction.
+     * 
+     * @return the checkpoint path, or null for a full extraction
+     */
+    String getCheckpointPath() {
+        return checkpointPath;
+    }
+    
+    /**
+     * Gets the number of files to read concurrently.
+     * 
+     * @return reader thread count
+     */
+    int getThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * Checks whether multi-file input must be emitted in file order.
+     * 
+     * @return true to keep input order
+     */
+    boolean isOrdered() {
+        return ordered;
+    }
+    
+    /**
+     * Gets the columns to project during extraction.
+     * 
+     * @return zero-based column indexes, or null to keep every column
+     */
+    int[] getColumns() {
+        return columns;
+    }
+    
+    /**
+     * Gets the minimum number of fields a record needs to be kept.
+     * 
+     * @return minimum field count
+     */
+    int getMinFields() {
+        return minFields;
+    }
+    
+    /**
+     * Gets the predicate pushed down into extraction: the minimum field count
+     * combined with every {@code --where} filter.
+     * 
+     * @return the record predicate
+     */
+    RecordPredicate getPredicate() {
+        RecordPredicate predicate = RecordPredicate.minFieldCount(minFields);
+        return filter == null ? predicate : predicate.and(filter);
+    }
+    
+    /**
+     * Gets the maximum number of records to extract.
+     * 
+     * @return the record limit, or 0 to read every record
+     */
+    int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Gets the number of records to sample uniformly from the input.
+     * 
+     * @return the sample size, or 0 to read every record
+     */
+    int getSampleSize() {
+        return sampleSize;
+    }
+    
+    /**
+     * Gets the random seed used for sampling.
+     * 
+     * @return the seed (default: 0)
+     */
+    long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Checks whether records flow from extract to load in bounded batches
+     * instead of being collected between phases.
+     * 
+     * @return true for streaming mode
+     */
+    boolean isStreaming() {
+        return streaming;
+    }
+    
+    /**
+     * Gets the directory of the parsed-file cache.
+     * 
+     * @return the cache directory, or null to always parse input files
+     */
+    String getCachePath() {
+        return cachePath;
+    }
+    
+    /**
+     * Gets the size limit of the parsed-file cache.
+     * 
+     * @return maximum cache size in bytes
+     */
+    long getCacheSizeBytes() {
+        return cacheSizeBytes;
+    }
+    
+    /**
+     * Gets the number of distinct values kept per column when sharing repeated values.
+     * 
+     * @return dictionary size per column, or 0 to copy every field
+     */
+    int getDictionarySize() {
+        return dictionarySize;
+    }
+    
+    /**
+     * Gets the number of chunks read ahead asynchronously.
+     * 
+     * @return read-ahead buffer count, or 0 to read synchronously
+     */
+    int getReadAheadBuffers() {
+        return readAheadBuffers;
+    }
+    
+    /**
+     * Gets the size of each read-ahead chunk.
+     * 
+     * @return chunk size in bytes
+     */
+    int getReadAheadBufferSize() {
+        return readAheadBufferSize;
+    }
+    
+    /**
+     * Gets the number of threads used by the transform phase.
+     * 
+     * @return transform thread count; 1 transforms on the main thread
+     */
+    int getTransformThreads() {
+        return transformThreads;
+    }
+    
+    /**
+     * Checks whether the transform phase rewrites the extracted records instead of copying them.
+     * 
+     * @return true to transform in place
+     */
+    boolean isInPlace() {
+        return inPlace;
+    }
+    
+    /**
+     * Gets the column whose distinct values group the transformed records.
+     * 
+     * @return zero-based key column, or -1 to load records without grouping
+     */
+    int getGroupByColumn() {
+        return groupByColumn;
+    }
+    
+    /**
+     * Gets the numeric column summarized per group.
+     * 
+     * @return zero-based value column, or -1 to only count records per group
+     */
+    int getAggregateColumn() {
+        return aggregateColumn;
+    }
+    
+    /**
+     * Gets the column profiled approximately after the transform phase.
+     * 
+     * @return zero-based column to sketch, or -1 for no profile
+     */
+    int getSketchColumn() {
+        return sketchColumn;
+    }
+    
+    /**
+     * Gets the length of aggregation windows.
+     * 
+     * @return window length in records or time units, or 0 to load records without windowing
+     */
+    long getWindowSize() {
+        return windowSize;
+    }
+    
+    /**
+     * Gets the distance between the starts of consecutive windows.
+     * 
+     * @return window slide; equal to the window length for tumbling windows
+     */
+    long getWindowSlide() {
+        return windowSlide > 0 ? windowSlide : windowSize;
+    }
+    
+    /**
+     * Gets the numeric time column that assigns records to windows.
+     * 
+     * @return zero-based time column, or -1 to window by record position
+     */
+    int getWindowColumn() {
+        return windowColumn;
+    }
+    
+    /**
+     * Checks whether records already seen are dropped before loading.
+     * 
+     * @return true to drop duplicate records
+     */
+    boolean isDeduplicate() {
+        return deduplicate;
+    }
+    
+    /**
+     * Gets the Bloom filter false-positive rate used when dropping duplicates.
+     * 
+     * @return target false-positive rate
+     */
+    double getDedupFalsePositiveRate() {
+        return dedupFalsePositiveRate;
+    }
+    
+    /**
+     * Gets the width of record fingerprints used when dropping duplicates.
+     * 
+     * @return 64 or 128
+     */
+    int getDedupBits() {
+        return dedupBits;
+    }
+    
+    /**
+     * Gets the number of distinct records the duplicate filter is sized for.
+     * 
+     * @return expected distinct records, or 0 to size the filter from the input
+     */
+    long getDedupExpectedRecords() {
+        return dedupExpectedRecords;
+    }
+    
+    /**
+     * Gets the reference file whose records enrich each input record.
+     * 
+     * @return reference file path, or null when not joining
+     */
+    String getJoinPath() {
+        return joinPath;
+    }
+    
+    /**
+     * Gets the key column of input records to join on.
+     * 
+     * @return zero-based column index
+     */
+    int getJoinKeyColumn() {
+        return Math.max(0, joinKeyColumn);
+    }
+    
+    /**
+     * Gets the key column of reference records to join on.
+     * 
+     * @return zero-based column index
+     */
+    int getJoinReferenceKeyColumn() {
+        return Math.max(0, joinReferenceKeyColumn);
+    }
+    
+    /**
+     * Checks whether input records without a matching reference record are kept.
+     * 
+     * @return true for a left join, false for an inner join
+     */
+    boolean isLeftJoin() {
+        return "left".equals(joinType);
+    }
+    
+    /**
+     * Gets the estimated size the in-memory reference table may reach before the join spills to disk.
+     * 
+     * @return memory budget in bytes
+     */
+    long getJoinMemoryBytes() {
+        return joinMemoryBytes > 0 ? joinMemoryBytes : DEFAULT_JOIN_MEMORY_MB * 1024L * 1024L;
+    }
+    
+    /**
+     * Gets the directory in which the join writes its partition files when spilling.
+     * 
+     * @return spill directory path
+     */
+    String getJoinSpillPath() {
+        return joinSpillPath != null ? joinSpillPath : System.getProperty("java.io.tmpdir");
+    }
+}
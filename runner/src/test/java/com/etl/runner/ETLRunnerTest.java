@@ -1,13 +1,19 @@
 package com.etl.runner;
 
+import com.etl.extract.FieldDictionary;
 import com.etl.extract.FileExtractor;
 import com.etl.transform.DataTransformer;
+import com.etl.transform.GroupAggregator;
+import com.etl.transform.HashJoin;
+import com.etl.transform.RecordPipeline;
 import com.etl.load.ConsoleLoader;
 import com.etl.load.LocalDBLoader;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.After;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -15,6 +21,8 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -25,6 +33,9 @@ import static org.junit.Assert.*;
  */
 public class ETLRunnerTest {
     
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
     private Path tempFile;
     private Path emptyFile;
     private Path invalidFile;
@@ -522,4 +533,409 @@ public class ETLRunnerTest {
         String errorOutput = errContent.toString();
         assertTrue("Should print error to stderr", errorOutput.contains("Error:"));
     }
-}
\ No newline at end of file
+    
+    /**
+     * Tests that the extract phase honours the checkpoint option across runs.
+     */
+    @Test
+    public void testExtract_WithCheckpoint_ReadsOnlyNewRecords() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Doe,30,Engineer\n".getBytes());
+        String checkpoint = new File(folder.getRoot(), "state.properties").getAbsolutePath();
+        String[] args = {data.getAbsolutePath(), "--checkpoint=" + checkpoint};
+        
+        assertEquals(1, ETLRunner.extract(RunnerOptions.parse(args)).size());
+        assertEquals(0, ETLRunner.extract(RunnerOptions.parse(args)).size());
+    }
+    
+    /**
+     * Tests that a directory input merges every file in it.
+     */
+    @Test
+    public void testExtract_DirectoryInput_MergesFiles() throws IOException {
+        File shards = folder.newFolder("shards");
+        Files.write(new File(shards, "a.csv").toPath(), "John,Doe,30,Engineer\n".getBytes());
+        Files.write(new File(shards, "b.csv").toPath(), "Jane,Smith,25,Designer\nBob,Johnson,35,Manager\n".getBytes());
+        
+        List<String[]> records = ETLRunner.extract(RunnerOptions.parse(new String[] {shards.getAbsolutePath()}));
+        
+        assertEquals(3, records.size());
+        assertEquals("John", records.get(0)[0]);
+        assertEquals("Bob", records.get(2)[0]);
+    }
+    
+    /**
+     * Tests that column projection reaches the extract phase.
+     */
+    @Test
+    public void testExtract_WithColumns_ProjectsRecords() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Doe,30,Engineer\nJane,Smith\n".getBytes());
+        
+        List<String[]> records = ETLRunner.extract(
+                RunnerOptions.parse(new String[] {data.getAbsolutePath(), "--columns=3,0"}));
+        
+        assertArrayEquals(new String[] {"Engineer", "John"}, records.get(0));
+        assertArrayEquals(new String[] {"", "Jane"}, records.get(1));
+    }
+    
+    /**
+     * Tests that filters are pushed into the extract phase together with the field count.
+     */
+    @Test
+    public void testExtract_WithWhere_KeepsMatchingRecords() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Doe,30,Engineer\n,,,\nJane,Smith,25,Designer\nBob,Johnson,35,Manager\n".getBytes());
+        
+        List<String[]> records = ETLRunner.extract(RunnerOptions.parse(
+                new String[] {data.getAbsolutePath(), "--where=2:30..40", "--where=3^=Man"}));
+        
+        assertEquals(1, records.size());
+        assertEquals("Bob", records.get(0)[0]);
+    }
+    
+    /**
+     * Tests that records without any non-empty field are dropped during extraction by default.
+     */
+    @Test
+    public void testExtract_EmptyFieldsOnly_DroppedByDefault() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Doe\n,,,\nJane,Smith\n".getBytes());
+        
+        assertEquals(2, ETLRunner.extract(RunnerOptions.parse(new String[] {data.getAbsolutePath()})).size());
+    }
+    
+    /**
+     * Tests that the limit spans several input files.
+     */
+    @Test
+    public void testExtract_WithLimit_StopsAcrossFiles() throws IOException {
+        File shards = folder.newFolder("shards");
+        Files.write(new File(shards, "a.csv").toPath(), "John,Doe\nJane,Smith\n".getBytes());
+        Files.write(new File(shards, "b.csv").toPath(), "Bob,Johnson\nAmy,Lee\n".getBytes());
+        
+        List<String[]> records = ETLRunner.extract(
+                RunnerOptions.parse(new String[] {shards.getAbsolutePath(), "--limit=3"}));
+        
+        assertEquals(3, records.size());
+        assertEquals("Bob", records.get(2)[0]);
+    }
+    
+    /**
+     * Tests that sampling with a seed is reproducible.
+     */
+    @Test
+    public void testExtract_WithSample_IsReproducible() throws IOException {
+        File data = folder.newFile("data.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append("user").append(i).append(",x\n");
+        }
+        Files.write(data.toPath(), content.toString().getBytes());
+        String[] args = {data.getAbsolutePath(), "--sample=20", "--seed=9"};
+        
+        List<String[]> first = ETLRunner.extract(RunnerOptions.parse(args));
+        List<String[]> second = ETLRunner.extract(RunnerOptions.parse(args));
+        
+        assertEquals(20, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), second.get(i));
+        }
+    }
+    
+    /**
+     * Tests that streaming mode transforms and loads every matching record.
+     */
+    @Test
+    public void testStream_WithWhere_LoadsTransformedRecords() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Doe,30\n,,\nJane,Smith,25\nBob,Johnson,35\n".getBytes());
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        int loaded = ETLRunner.stream(RunnerOptions.parse(
+                new String[] {data.getAbsolutePath(), "--stream=true", "--where=2:30..40"}), loader);
+        
+        assertEquals(2, loaded);
+        assertEquals("JOHN", loader.getRecord(1)[0]);
+        assertEquals("BOB", loader.getRecord(2)[0]);
+    }
+    
+    /**
+     * Tests that streaming mode reports a missing input as an IOException.
+     */
+    @Test(expected = IOException.class)
+    public void testStream_NonExistentFile_ThrowsIOException() throws IOException {
+        ETLRunner.stream(RunnerOptions.parse(new String[] {"non-existent-file.csv", "--stream=true"}),
+                new LocalDBLoader());
+    }
+    
+    /**
+     * Tests that the dictionary option shares repeated values during extraction.
+     */
+    @Test
+    public void testExtract_WithDictionary_SharesValues() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,Engineer\nJane,Designer\nBob,Engineer\n".getBytes());
+        RunnerOptions options = RunnerOptions.parse(new String[] {data.getAbsolutePath(), "--dictionary-size=8"});
+        FieldDictionary dictionary = new FieldDictionary(options.getDictionarySize());
+        
+        List<String[]> records = ETLRunner.extract(options, dictionary);
+        
+        assertEquals(3, records.size());
+        assertSame(records.get(0)[1], records.get(2)[1]);
+        assertEquals(1.0 / 6, dictionary.getHitRate(), 1e-9);
+    }
+    
+    /**
+     * Tests that a parallel transform keeps input order and matches the sequential result.
+     */
+    @Test
+    public void testTransform_MultipleThreads_KeepsInputOrder() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            records.add(i % 1000 == 0 ? new String[0] : new String[] {" user" + i + " ", "x"});
+        }
+        RecordPipeline pipeline = RecordPipeline.identity().trim().upperCase().minFieldCount(1);
+        
+        List<String[]> sequential = ETLRunner.transform(RunnerOptions.parse(new String[] {"data.csv"}), records, pipeline);
+        List<String[]> parallel = ETLRunner.transform(
+                RunnerOptions.parse(new String[] {"data.csv", "--transform-threads=4"}), records, pipeline);
+        
+        assertEquals(19_980, parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i), parallel.get(i));
+        }
+        assertEquals("USER1", parallel.get(0)[0]);
+    }
+    
+    /**
+     * Tests that an in-place transform reuses the input list and arrays and matches the copying result.
+     */
+    @Test
+    public void testTransform_InPlace_ReusesRecords() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            records.add(i % 100 == 0 ? new String[0] : new String[] {" user" + i + " ", "x"});
+        }
+        RecordPipeline pipeline = RecordPipeline.identity().normalize().minFieldCount(1);
+        List<String[]> copied = ETLRunner.transform(RunnerOptions.parse(new String[] {"data.csv"}), records, pipeline);
+        String[] first = records.get(1);
+        
+        for (String threads : new String[] {"1", "4"}) {
+            List<String[]> input = new ArrayList<>();
+            for (String[] record : records) {
+                input.add(record.clone());
+            }
+            String[] firstInput = input.get(1);
+            List<String[]> inPlace = ETLRunner.transform(RunnerOptions.parse(
+                    new String[] {"data.csv", "--in-place=true", "--transform-threads=" + threads}), input, pipeline);
+            
+            assertSame(input, inPlace);
+            assertSame(firstInput, inPlace.get(0));
+            assertEquals(copied.size(), inPlace.size());
+            for (int i = 0; i < copied.size(); i++) {
+                assertArrayEquals(copied.get(i), inPlace.get(i));
+            }
+        }
+        assertEquals(" user1 ", first[0]);
+    }
+    
+    /**
+     * Tests that grouping computes count, sum, min, max and average per key after normalization.
+     */
+    @Test
+    public void testAggregate_GroupByWithValue_ComputesStatistics() {
+        List<String[]> records = new ArrayList<>();
+        records.add(new String[] {"John", "30", " engineer"});
+        records.add(new String[] {"Jane", "25", "Designer"});
+        records.add(new String[] {"Bob", "35", "ENGINEER "});
+        records.add(new String[] {"Amy", "n/a", "Engineer"});
+        records.add(new String[] {"Kim"});
+        RunnerOptions options = RunnerOptions.parse(new String[] {"data.csv", "--group-by=2", "--aggregate=1"});
+        
+        GroupAggregator groups = ETLRunner.aggregate(options, records, RecordPipeline.identity().normalize());
+        
+        assertEquals(2, groups.getGroupCount());
+        assertEquals(1, groups.getSkippedCount());
+        assertEquals(3, groups.getCount("ENGINEER"));
+        assertEquals(65, groups.getSum("ENGINEER"), 0);
+        assertEquals(30, groups.getMin("ENGINEER"), 0);
+        assertEquals(35, groups.getMax("ENGINEER"), 0);
+        assertEquals(32.5, groups.getAverage("ENGINEER"), 0);
+        assertArrayEquals(new String[] {"ENGINEER", "3", "65", "30", "35", "32.5"}, groups.toRecords().get(0));
+        assertArrayEquals(new String[] {"DESIGNER", "1", "25", "25", "25", "25"}, groups.toRecords().get(1));
+    }
+    
+    /**
+     * Tests tumbling record-count windows grouped by a key column.
+     */
+    @Test
+    public void testWindow_TumblingByRecords_EmitsPerWindowGroups() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            records.add(new String[] {i % 2 == 0 ? "a" : "b", Integer.toString(i)});
+        }
+        RunnerOptions options = RunnerOptions.parse(
+                new String[] {"data.csv", "--window=3", "--group-by=0", "--aggregate=1"});
+        
+        List<String[]> rows = ETLRunner.window(options, records, RecordPipeline.identity().normalize());
+        
+        assertEquals(5, rows.size());
+        assertArrayEquals(new String[] {"0", "3", "A", "2", "2", "0", "2", "1"}, rows.get(0));
+        assertArrayEquals(new String[] {"0", "3", "B", "1", "1", "1", "1", "1"}, rows.get(1));
+        assertArrayEquals(new String[] {"3", "6", "B", "2", "8", "3", "5", "4"}, rows.get(2));
+        assertArrayEquals(new String[] {"6", "9", "A", "1", "6", "6", "6", "6"}, rows.get(4));
+    }
+    
+    /**
+     * Tests that streaming mode loads window aggregates instead of records.
+     */
+    @Test
+    public void testStream_WithWindow_LoadsWindowRows() throws IOException {
+        File data = folder.newFile("data.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("user").append(i).append(',').append(i % 3 == 0 ? "x" : "y").append('\n');
+        }
+        Files.write(data.toPath(), content.toString().getBytes());
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        int loaded = ETLRunner.stream(RunnerOptions.parse(
+                new String[] {data.getAbsolutePath(), "--stream=true", "--window=300", "--group-by=1"}), loader);
+        
+        assertEquals(8, loaded);
+        assertArrayEquals(new String[] {"0", "300", "X", "100"}, loader.getRecord(1));
+        assertArrayEquals(new String[] {"900", "1200", "Y", "66"}, loader.getRecord(8));
+    }
+    
+    /**
+     * Tests that streaming with deduplication loads records resent across files only once.
+     */
+    @Test
+    public void testStream_WithDedup_DropsResentRecords() throws IOException {
+        File dir = folder.newFolder("in");
+        Files.write(new File(dir, "a.csv").toPath(), "John,30\nJane,25\njohn ,30\n".getBytes());
+        Files.write(new File(dir, "b.csv").toPath(), "Jane,25\nBob,35\n".getBytes());
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        int loaded = ETLRunner.stream(RunnerOptions.parse(
+                new String[] {dir.getAbsolutePath(), "--stream=true", "--dedup=true", "--dedup-bits=64"}), loader);
+        
+        assertEquals(3, loaded);
+        assertArrayEquals(new String[] {"BOB", "35"}, loader.getRecord(3));
+    }
+    
+    /**
+     * Tests that streaming deduplication sized by --dedup-expected still drops every duplicate.
+     */
+    @Test
+    public void testStream_WithDedupExpected_DropsDuplicates() throws IOException {
+        File data = folder.newFile("data.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            content.append("user").append(i % 100).append(",x\n");
+        }
+        Files.write(data.toPath(), content.toString().getBytes());
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        int loaded = ETLRunner.stream(RunnerOptions.parse(
+                new String[] {data.getAbsolutePath(), "--stream=true", "--dedup=true", "--dedup-expected=100"}), loader);
+        
+        assertEquals(100, loaded);
+        assertTrue(outContent.toString().contains("Dedup: 200 duplicates dropped, 100 distinct records"));
+    }
+    
+    /**
+     * Tests that inner joins drop unmatched records and left joins pad them, with one row per reference match.
+     */
+    @Test
+    public void testJoin_InnerAndLeft_EnrichesRecords() throws IOException {
+        File reference = folder.newFile("titles.csv");
+        Files.write(reference.toPath(),
+                "engineer,R&D,Building 1\ndesigner,Product\nEngineer ,Platform,Building 2\n".getBytes());
+        List<String[]> records = new ArrayList<>();
+        records.add(new String[] {"John", "Engineer"});
+        records.add(new String[] {"Jane", "designer "});
+        records.add(new String[] {"Bob", "Manager"});
+        RecordPipeline pipeline = RecordPipeline.identity().normalize();
+        
+        List<String[]> inner = ETLRunner.join(RunnerOptions.parse(new String[] {"data.csv",
+                "--join=" + reference.getAbsolutePath(), "--join-key=1"}), records, pipeline);
+        List<String[]> left = ETLRunner.join(RunnerOptions.parse(new String[] {"data.csv",
+                "--join=" + reference.getAbsolutePath(), "--join-key=1", "--join-type=left"}), records, pipeline);
+        
+        assertEquals(3, inner.size());
+        assertArrayEquals(new String[] {"JOHN", "ENGINEER", "R&D", "BUILDING 1"}, inner.get(0));
+        assertArrayEquals(new String[] {"JOHN", "ENGINEER", "PLATFORM", "BUILDING 2"}, inner.get(1));
+        assertArrayEquals(new String[] {"JANE", "DESIGNER", "PRODUCT", ""}, inner.get(2));
+        assertEquals(4, left.size());
+        assertArrayEquals(new String[] {"BOB", "MANAGER", "", ""}, left.get(3));
+    }
+    
+    /**
+     * Tests that streaming with a left join enriches every record before loading.
+     */
+    @Test
+    public void testStream_WithLeftJoin_LoadsEnrichedRecords() throws IOException {
+        File data = folder.newFile("data.csv");
+        Files.write(data.toPath(), "John,engineer\nJane,designer\nBob,manager\n".getBytes());
+        File reference = folder.newFile("titles.csv");
+        Files.write(reference.toPath(), "R&D,engineer\nProduct,designer\n".getBytes());
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        int loaded = ETLRunner.stream(RunnerOptions.parse(new String[] {data.getAbsolutePath(), "--stream=true",
+                "--join=" + reference.getAbsolutePath(), "--join-key=1", "--join-reference-key=1",
+                "--join-type=left"}), loader);
+        
+        assertEquals(3, loaded);
+        assertArrayEquals(new String[] {"JOHN", "ENGINEER", "R&D"}, loader.getRecord(1));
+        assertArrayEquals(new String[] {"BOB", "MANAGER", ""}, loader.getRecord(3));
+    }
+    
+    /**
+     * Tests that a join whose reference table spills keeps time-ordered records in order,
+     * so a time window downstream aggregates every record in batch and stream mode.
+     */
+    @Test
+    public void testJoin_SpilledWithTimeWindow_AggregatesEveryRecord() throws IOException {
+        File reference = folder.newFile("depts.csv");
+        StringBuilder referenceContent = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            referenceContent.append('k').append(i).append(",dept").append(i).append('\n');
+        }
+        Files.write(reference.toPath(), referenceContent.toString().getBytes());
+        File data = folder.newFile("events.csv");
+        StringBuilder content = new StringBuilder();
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + (i * 7919 % 12_000);
+            content.append(i).append(',').append(key).append('\n');
+            records.add(new String[] {Integer.toString(i), key});
+        }
+        Files.write(data.toPath(), content.toString().getBytes());
+        String[] args = {data.getAbsolutePath(), "--join=" + reference.getAbsolutePath(), "--join-key=1",
+                "--join-type=left", "--join-memory-mb=1", "--window=10", "--window-column=0"};
+        RunnerOptions options = RunnerOptions.parse(args);
+        
+        List<String[]> joined = ETLRunner.join(options, records, RecordPipeline.identity().normalize());
+        List<String[]> rows = ETLRunner.window(options, joined, RecordPipeline.identity());
+        
+        assertTrue(outContent.toString().contains("spilled to " + HashJoin.PARTITIONS + " partitions"));
+        assertEquals(1000, joined.size());
+        for (int i = 0; i < joined.size(); i++) {
+            assertEquals(Integer.toString(i), joined.get(i)[0]);
+        }
+        assertEquals(100, rows.size());
+        for (String[] row : rows) {
+            assertEquals("10", row[2]);
+        }
+        
+        String[] streamArgs = Arrays.copyOf(args, args.length + 1);
+        streamArgs[args.length] = "--stream=true";
+        LocalDBLoader loader = new LocalDBLoader();
+        
+        assertEquals(100, ETLRunner.stream(RunnerOptions.parse(streamArgs), loader));
+        assertArrayEquals(new String[] {"990", "1000", "10"}, loader.getRecord(100));
+        assertTrue(outContent.toString().contains("Warning: join reference table exceeds --join-memory-mb"));
+    }
+}
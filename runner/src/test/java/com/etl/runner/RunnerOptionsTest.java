@@ -0,0 +1,190 @@
+package com.etl.runner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RunnerOptions class.
+ */
+public class RunnerOptionsTest {
+
+    /**
+     * Tests that a lone path parses with default options.
+     */
+    @Test
+    public void testParse_PathOnly_UsesDefaults() {
+        RunnerOptions options = RunnerOptions.parse(new String[] {"data.csv"});
+
+        assertEquals("data.csv", options.getInputPath());
+        assertNull(options.getCheckpointPath());
+    }
+
+    /**
+     * Tests that options may appear before or after the path.
+     */
+    @Test
+    public void testParse_CheckpointOption_IsRecorded() {
+        RunnerOptions options = RunnerOptions.parse(new String[] {"--checkpoint=state.properties", "data.csv"});
+
+        assertEquals("data.csv", options.getInputPath());
+        assertEquals("state.properties", options.getCheckpointPath());
+    }
+
+    /**
+     * Tests parsing of the multi-file options.
+     */
+    @Test
+    public void testParse_MultiFileOptions_AreRecorded() {
+        RunnerOptions options = RunnerOptions.parse(new String[] {"shards/", "--threads=8", "--ordered=false"});
+
+        assertEquals(8, options.getThreads());
+        assertFalse(options.isOrdered());
+    }
+
+    /**
+     * Tests that a non-numeric thread count is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_InvalidThreads_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--threads=many"});
+    }
+
+    /**
+     * Tests that unknown options are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_UnknownOption_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--bogus=1"});
+    }
+
+    /**
+     * Tests that a missing input path is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_NoPath_ThrowsException() {
+        RunnerOptions.parse(new String[] {"--checkpoint=state.properties"});
+    }
+
+    /**
+     * Tests that malformed column lists are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_InvalidColumns_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--columns=1,-2"});
+    }
+
+    /**
+     * Tests that malformed filters are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_InvalidWhere_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--where=2:abc..5"});
+    }
+
+    /**
+     * Tests that filters cannot be combined with incremental extraction.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_WhereWithCheckpoint_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--where=0=John", "--checkpoint=state.properties"});
+    }
+
+    /**
+     * Tests that limit and sample cannot be combined.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_LimitWithSample_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--limit=10", "--sample=5"});
+    }
+
+    /**
+     * Tests that streaming rejects concurrent file reading, which it would otherwise ignore.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_StreamWithThreads_ThrowsException() {
+        RunnerOptions.parse(new String[] {"shards/", "--stream=true", "--threads=4"});
+    }
+
+    /**
+     * Tests that streaming rejects unordered multi-file input, which it would otherwise ignore.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_StreamUnordered_ThrowsException() {
+        RunnerOptions.parse(new String[] {"shards/", "--stream=true", "--ordered=false"});
+    }
+
+    /**
+     * Tests that streaming rejects a parallel transform, which it would otherwise ignore.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_StreamWithTransformThreads_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--stream=true", "--transform-threads=4"});
+    }
+
+    /**
+     * Tests that in-place transform cannot be combined with streaming.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_InPlaceWithStream_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--in-place=true", "--stream=true"});
+    }
+
+    /**
+     * Tests that a value column without a key column is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_AggregateWithoutGroupBy_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--aggregate=2"});
+    }
+
+    /**
+     * Tests that sketching cannot be combined with grouping.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_SketchWithGroupBy_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--sketch=1", "--group-by=0"});
+    }
+
+    /**
+     * Tests that a slide longer than the window is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_SlideExceedsWindow_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--window=5", "--slide=10"});
+    }
+
+    /**
+     * Tests that a false-positive rate outside (0, 1) is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_InvalidDedupFpp_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--dedup=true", "--dedup-fpp=1"});
+    }
+
+    /**
+     * Tests that the expected distinct record count for deduplication is recorded, and unset by default.
+     */
+    @Test
+    public void testParse_DedupExpected_IsRecorded() {
+        assertEquals(0, RunnerOptions.parse(new String[] {"data.csv", "--dedup=true"}).getDedupExpectedRecords());
+        assertEquals(5_000_000_000L, RunnerOptions.parse(
+                new String[] {"data.csv", "--dedup=true", "--dedup-expected=5000000000"}).getDedupExpectedRecords());
+    }
+
+    /**
+     * Tests that deduplication cannot be combined with a parallel transform.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_DedupWithThreads_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--dedup=true", "--transform-threads=4"});
+    }
+
+    /**
+     * Tests that join settings without a reference file are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_JoinKeyWithoutJoin_ThrowsException() {
+        RunnerOptions.parse(new String[] {"data.csv", "--join-key=1"});
+    }
+}
@@ -0,0 +1,97 @@
+package com.etl.transform;
+
+/**
+ * A set of 64-bit hashes that answers "definitely absent" or "possibly present".
+ * The bit array and number of probes are derived from the expected number of
+ * insertions and the desired false-positive rate; about 9.6 bits per entry give
+ * 1%. Probes are derived from one hash by double hashing, so callers hash each
+ * item only once. Exceeding the expected insertions raises the false-positive
+ * rate but never produces false negatives.
+ */
+public final class BloomFilter {
+    
+    private final long[] bits;
+    private final long bitCount;
+    private final int probes;
+    
+    /**
+     * Creates a filter sized for a workload.
+     * 
+     * @param expectedInsertions number of distinct items expected
+     * @param falsePositiveRate target probability that an absent item is reported present,
+     *                          strictly between 0 and 1
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long words = Math.max(1, (optimalBits + 63) >>> 6);
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " insertions");
+        }
+        this.bits = new long[(int) words];
+        this.bitCount = words << 6;
+        this.probes = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+    
+    /**
+     * Adds a hash and reports whether it may have been added before.
+     * 
+     * @param hash a well-mixed 64-bit hash of the item
+     * @return false if the item was definitely absent; true if it may have been present
+     */
+    public boolean put(long hash) {
+        long step = Long.rotateLeft(hash, 32) | 1;
+        boolean present = true;
+        for (int i = 0; i < probes; i++, hash += step) {
+            long index = (hash & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                present = false;
+            }
+        }
+        return present;
+    }
+    
+    /**
+     * Checks whether a hash may have been added.
+     * 
+     * @param hash a well-mixed 64-bit hash of the item
+     * @return false if the item was definitely never added
+     */
+    public boolean mightContain(long hash) {
+        long step = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < probes; i++, hash += step) {
+            long index = (hash & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the number of probes per item.
+     * 
+     * @return hash function count
+     */
+    public int getProbeCount() {
+        return probes;
+    }
+    
+    /**
+     * Gets the memory held by the bit array.
+     * 
+     * @return size in bytes
+     */
+    public long getSizeBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
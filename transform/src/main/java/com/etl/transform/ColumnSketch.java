@@ -0,0 +1,123 @@
+package com.etl.transform;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Profiles one column of a record stream in fixed memory: distinct count
+ * ({@link HyperLogLog}), quantiles of its numeric values ({@link QuantileSketch})
+ * and most frequent values ({@link TopKSketch}). Records without the column are
+ * skipped. Not thread-safe; profile partitions with one instance each and
+ * {@link #merge(ColumnSketch)} them.
+ */
+public final class ColumnSketch implements Consumer<String[]> {
+    
+    private final int column;
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final QuantileSketch quantiles = new QuantileSketch();
+    private final TopKSketch frequent;
+    private long count;
+    
+    /**
+     * Creates a sketch of a column tracking the default number of frequent values.
+     * 
+     * @param column zero-based index of the column to profile
+     */
+    public ColumnSketch(int column) {
+        this(column, TopKSketch.DEFAULT_K);
+    }
+    
+    /**
+     * Creates a sketch of a column.
+     * 
+     * @param column zero-based index of the column to profile
+     * @param topK number of frequent values to track
+     */
+    public ColumnSketch(int column, int topK) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Invalid column: " + column);
+        }
+        this.column = column;
+        this.frequent = new TopKSketch(topK);
+    }
+    
+    /**
+     * Adds a record's value to the sketches.
+     * 
+     * @param record the record
+     */
+    @Override
+    public void accept(String[] record) {
+        if (column >= record.length) {
+            return;
+        }
+        String value = record[column];
+        distinct.add(value);
+        frequent.add(value);
+        quantiles.add(GroupAggregator.parseNumber(value));
+        count++;
+    }
+    
+    /**
+     * Adds everything profiled by another sketch of the same column to this one.
+     * 
+     * @param other the sketch to merge; left unchanged
+     * @throws IllegalArgumentException if the sketches profile different columns or differ in shape
+     */
+    public void merge(ColumnSketch other) {
+        if (other.column != column) {
+            throw new IllegalArgumentException("Cannot merge sketches of different columns");
+        }
+        distinct.merge(other.distinct);
+        quantiles.merge(other.quantiles);
+        frequent.merge(other.frequent);
+        count += other.count;
+    }
+    
+    /**
+     * Gets the number of values profiled.
+     * 
+     * @return value count
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Estimates the number of distinct values.
+     * 
+     * @return estimated cardinality
+     */
+    public long getDistinctCount() {
+        return distinct.estimate();
+    }
+    
+    /**
+     * Gets the number of numeric values profiled.
+     * 
+     * @return numeric value count
+     */
+    public long getNumericCount() {
+        return quantiles.getCount();
+    }
+    
+    /**
+     * Estimates a quantile of the numeric values.
+     * 
+     * @param fraction the quantile, from 0 to 1
+     * @return the estimated value, or NaN if no value was numeric
+     */
+    public double getQuantile(double fraction) {
+        return quantiles.quantile(fraction);
+    }
+    
+    /**
+     * Gets the most frequent values with their estimated counts.
+     * 
+     * @return entries ordered by descending count
+     */
+    public List<Map.Entry<String, Long>> getTopValues() {
+        return frequent.getTopK();
+    }
+}
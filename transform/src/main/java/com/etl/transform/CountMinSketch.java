@@ -0,0 +1,139 @@
+package com.etl.transform;
+
+/**
+ * Estimates how often each value occurs in a stream in fixed memory.
+ * Each value increments one counter in each of {@code depth} rows of
+ * {@code width} counters; its estimate is the smallest of those counters. Estimates
+ * never undercount, and overcount by at most {@code e / width} of the total with
+ * probability {@code 1 - e^-depth}. Sketches of the same shape can be merged.
+ */
+public final class CountMinSketch {
+    
+    /** Default number of counters per row. */
+    public static final int DEFAULT_WIDTH = 2048;
+    
+    /** Default number of rows. */
+    public static final int DEFAULT_DEPTH = 5;
+    
+    private static final long SEED = 0x6A09E667F3BCC909L;
+    
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+    
+    /**
+     * Creates a sketch with the default shape.
+     */
+    public CountMinSketch() {
+        this(DEFAULT_WIDTH, DEFAULT_DEPTH);
+    }
+    
+    /**
+     * Creates a sketch of the given shape.
+     * 
+     * @param width counters per row; rounded up to a power of two
+     * @param depth number of rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || width > 1 << 30 || depth <= 0) {
+            throw new IllegalArgumentException("Invalid shape: width " + width + ", depth " + depth);
+        }
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = depth;
+        this.counters = new long[Math.multiplyExact(this.width, depth)];
+    }
+    
+    /**
+     * Counts one occurrence of a value.
+     * 
+     * @param value the value
+     */
+    public void add(String value) {
+        add(value, 1);
+    }
+    
+    /**
+     * Counts occurrences of a value.
+     * 
+     * @param value the value
+     * @param occurrences number of occurrences to add; must not be negative
+     * @return the value's estimated count after adding
+     */
+    public long add(String value, long occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("Occurrences must not be negative: " + occurrences);
+        }
+        long hash = StringHash.hash64(value, SEED);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + ((h1 + row * h2) & (width - 1));
+            counters[index] += occurrences;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        total += occurrences;
+        return estimate;
+    }
+    
+    /**
+     * Estimates how often a value occurred.
+     * 
+     * @param value the value
+     * @return the estimated count; never less than the true count
+     */
+    public long estimate(String value) {
+        long hash = StringHash.hash64(value, SEED);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + ((h1 + row * h2) & (width - 1))]);
+        }
+        return estimate;
+    }
+    
+    /**
+     * Adds every occurrence counted by another sketch to this one.
+     * 
+     * @param other a sketch of the same shape; left unchanged
+     * @throws IllegalArgumentException if the shapes differ
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shapes");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+    
+    /**
+     * Gets the total number of occurrences counted.
+     * 
+     * @return the stream length
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    /**
+     * Gets the number of counters per row.
+     * 
+     * @return the width
+     */
+    public int getWidth() {
+        return width;
+    }
+    
+    /**
+     * Gets the number of rows.
+     * 
+     * @return the depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
@@ -1,7 +1,12 @@
 package com.etl.transform;
 
+import com.etl.extract.FieldDictionary;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
 
 /**
  * Transforms data records.
@@ -9,6 +14,9 @@ import java.util.List;
  */
 public class DataTransformer {
     
+    /** Default number of records below which a parallel transform stops splitting. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+    
     /**
      * Transforms raw records by trimming whitespace and converting to uppercase.
      * 
@@ -19,13 +27,163 @@ public class DataTransformer {
         List<String[]> transformed = new ArrayList<>();
         
         for (String[] record : records) {
-            String[] transformedRecord = new String[record.length];
+            transformed.add(transformRecord(record));
+        }
+        
+        return transformed;
+    }
+    
+    /**
+     * Transforms a single record by trimming whitespace and converting to uppercase.
+     * Lets streaming callers transform records one at a time as they are extracted.
+     * Case mapping is locale-independent; see {@link FieldNormalizer}.
+     * 
+     * @param record raw data record
+     * @return new transformed record
+     */
+    public String[] transformRecord(String[] record) {
+        String[] transformedRecord = new String[record.length];
+        for (int i = 0; i < record.length; i++) {
+            transformedRecord[i] = FieldNormalizer.trimUpperCase(record[i]);
+        }
+        return transformedRecord;
+    }
+    
+    /**
+     * Transforms raw records like {@link #transform(List)}, but rewrites the fields
+     * inside the existing arrays and returns the same list, so no record array or
+     * result list is allocated. Use this only when the raw records are not needed
+     * afterwards.
+     * 
+     * @param records list of raw data records; modified in place
+     * @return {@code records}, now holding the transformed records
+     */
+    public List<String[]> transformInPlace(List<String[]> records) {
+        for (String[] record : records) {
             for (int i = 0; i < record.length; i++) {
-                transformedRecord[i] = record[i].trim().toUpperCase();
+                record[i] = FieldNormalizer.trimUpperCase(record[i]);
             }
-            transformed.add(transformedRecord);
+        }
+        return records;
+    }
+    
+    /**
+     * Transforms raw records, sharing repeated output values through a dictionary.
+     * Equal transformed values in a column then occupy one String instead of one
+     * per record.
+     * 
+     * @param records list of raw data records
+     * @param dictionary the dictionary holding shared output values
+     * @return list of transformed records
+     */
+    public List<String[]> transform(List<String[]> records, FieldDictionary dictionary) {
+        return transform(records, RecordPipeline.identity().normalize().mapFields(dictionary::intern));
+    }
+    
+    /**
+     * Transforms and filters records in a single pass through an operator pipeline.
+     * Unlike {@link #transform(List)} followed by {@link #filterByFieldCount(List, int)},
+     * this builds only the output list.
+     * 
+     * @param records list of raw data records
+     * @param pipeline the operators to apply to each record
+     * @return list of records that passed the pipeline
+     */
+    public List<String[]> transform(List<String[]> records, RecordPipeline pipeline) {
+        return pipeline.run(records);
+    }
+    
+    /**
+     * Runs records through a pipeline, reusing the input arrays and list.
+     * 
+     * @param records list of raw data records; replaced by the records that passed
+     * @param pipeline the operators to apply to each record
+     * @return {@code records}, holding the records that passed the pipeline
+     * @see RecordPipeline#runInPlace(List)
+     */
+    public List<String[]> transformInPlace(List<String[]> records, RecordPipeline pipeline) {
+        return pipeline.runInPlace(records);
+    }
+    
+    /**
+     * Transforms records like {@link #transform(List)}, using all cores of the common
+     * fork/join pool. Output order matches input order.
+     * 
+     * @param records list of raw data records
+     * @return list of transformed records
+     */
+    public List<String[]> transformParallel(List<String[]> records) {
+        return transformParallel(records, this::transformRecord, ForkJoinPool.commonPool(),
+                DEFAULT_PARALLEL_THRESHOLD, false);
+    }
+    
+    /**
+     * Runs records through a pipeline in parallel. The input is split in halves until
+     * a chunk holds at most {@code threshold} records; each chunk is then processed
+     * sequentially and writes into its own slice of a shared output array, so results
+     * come back in input order without merging. Inputs no larger than the threshold
+     * are processed on the calling thread. Every step of the pipeline must be safe to
+     * call from several threads.
+     * 
+     * @param records list of raw data records
+     * @param pipeline the operators to apply to each record
+     * @param pool the pool that runs the chunks
+     * @param threshold maximum number of records processed as one sequential chunk
+     * @return list of records that passed the pipeline, in input order
+     */
+    public List<String[]> transformParallel(List<String[]> records, RecordPipeline pipeline, ForkJoinPool pool,
+                                            int threshold) {
+        return transformParallel(records, pipeline::apply, pool, threshold, false);
+    }
+    
+    /**
+     * Runs records through a pipeline in parallel like
+     * {@link #transformParallel(List, RecordPipeline, ForkJoinPool, int)}, but reuses
+     * the input arrays and list as {@link RecordPipeline#runInPlace(List)} does.
+     * 
+     * @param records list of raw data records; replaced by the records that passed
+     * @param pipeline the operators to apply to each record
+     * @param pool the pool that runs the chunks
+     * @param threshold maximum number of records processed as one sequential chunk
+     * @return {@code records}, holding the records that passed the pipeline in input order
+     */
+    public List<String[]> transformParallelInPlace(List<String[]> records, RecordPipeline pipeline,
+                                                   ForkJoinPool pool, int threshold) {
+        return transformParallel(records, pipeline::applyInPlace, pool, threshold, true);
+    }
+    
+    private List<String[]> transformParallel(List<String[]> records, UnaryOperator<String[]> operator,
+                                             ForkJoinPool pool, int threshold, boolean inPlace) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        String[][] input = records.toArray(new String[0][]);
+        // Chunks touch disjoint slots, so an in-place run can write results over its input
+        String[][] output = inPlace ? input : new String[input.length][];
+        ChunkTask task = new ChunkTask(input, output, 0, input.length, operator, threshold);
+        if (input.length <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
         }
         
+        // Compact records dropped by the pipeline
+        if (inPlace) {
+            int kept = 0;
+            for (String[] record : output) {
+                if (record != null) {
+                    records.set(kept++, record);
+                }
+            }
+            records.subList(kept, records.size()).clear();
+            return records;
+        }
+        List<String[]> transformed = new ArrayList<>(output.length);
+        for (String[] record : output) {
+            if (record != null) {
+                transformed.add(record);
+            }
+        }
         return transformed;
     }
     
@@ -57,4 +215,70 @@ public class DataTransformer {
     public int aggregateCount(List<String[]> records) {
         return records.size();
     }
+    
+    /**
+     * Aggregates records per distinct value of a key column in a single pass.
+     * 
+     * @param records list of data records
+     * @param keyColumn zero-based index of the column to group by
+     * @param valueColumn zero-based index of the numeric column to summarize, or -1 to only count
+     * @return the per-group count, sum, min, max and average
+     */
+    public GroupAggregator aggregateBy(List<String[]> records, int keyColumn, int valueColumn) {
+        GroupAggregator aggregator = new GroupAggregator(keyColumn, valueColumn);
+        records.forEach(aggregator);
+        return aggregator;
+    }
+    
+    /**
+     * Profiles a column approximately in fixed memory: distinct count, quantiles
+     * and most frequent values. Suited to inputs too large for exact aggregation.
+     * 
+     * @param records list of data records
+     * @param column zero-based index of the column to profile
+     * @return the column's sketches
+     */
+    public ColumnSketch sketch(List<String[]> records, int column) {
+        ColumnSketch sketch = new ColumnSketch(column);
+        records.forEach(sketch);
+        return sketch;
+    }
+    
+    /**
+     * Transforms a range of the input, splitting it while it exceeds the threshold.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final String[][] input;
+        private final String[][] output;
+        private final int from;
+        private final int to;
+        private final UnaryOperator<String[]> operator;
+        private final int threshold;
+        
+        ChunkTask(String[][] input, String[][] output, int from, int to, UnaryOperator<String[]> operator,
+                  int threshold) {
+            this.input = input;
+            this.output = output;
+            this.from = from;
+            this.to = to;
+            this.operator = operator;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    output[i] = operator.apply(input[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(input, output, from, middle, operator, threshold),
+                    new ChunkTask(input, output, middle, to, operator, threshold));
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.etl.transform;
+
+/**
+ * Drops records that were already seen, remembering only a fingerprint of each.
+ * Every record is hashed into a 64- or 128-bit fingerprint. A {@link BloomFilter}
+ * answers first: most new records are definitely absent, and their fingerprint is
+ * stored without comparing it to any other. Only suspected duplicates are confirmed
+ * against the exact set of fingerprints, an open-addressing table of primitive longs
+ * kept at most 60% full. Memory is 8 or 16 bytes per table slot plus the filter
+ * bits, whatever the record size; 64-bit fingerprints halve the table at a
+ * collision risk of about {@code n^2 / 2^65} for {@code n} distinct records.
+ * Not thread-safe.
+ */
+public final class Deduplicator implements RecordPipeline.Step {
+    
+    /** Default target false-positive rate of the Bloom filter. */
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    
+    private static final long SEED_HIGH = 0x3C6EF372FE94F82BL;
+    private static final long SEED_LOW = 0xA54FF53A5F1D36F1L;
+    private static final double MAX_LOAD = 0.6;
+    
+    private final BloomFilter filter;
+    private final int width;
+    
+    // Fingerprints of width longs each; a zero first word marks an empty slot
+    private long[] table;
+    private int capacity;
+    private int size;
+    private long duplicateCount;
+    private long suspectedCount;
+    
+    /**
+     * Creates a deduplicator with 128-bit fingerprints and the default false-positive rate.
+     * 
+     * @param expectedRecords number of distinct records expected; sizes the filter and table
+     */
+    public Deduplicator(long expectedRecords) {
+        this(expectedRecords, DEFAULT_FALSE_POSITIVE_RATE, 128);
+    }
+    
+    /**
+     * Creates a deduplicator.
+     * 
+     * @param expectedRecords number of distinct records expected; sizes the filter and table
+     * @param falsePositiveRate Bloom filter false-positive rate; lower costs more filter
+     *                          memory but fewer exact lookups for new records
+     * @param fingerprintBits 64 or 128
+     */
+    public Deduplicator(long expectedRecords, double falsePositiveRate, int fingerprintBits) {
+        if (fingerprintBits != 64 && fingerprintBits != 128) {
+            throw new IllegalArgumentException("Fingerprint bits must be 64 or 128: " + fingerprintBits);
+        }
+        this.filter = new BloomFilter(expectedRecords, falsePositiveRate);
+        this.width = fingerprintBits / 64;
+        long slots = Long.highestOneBit(Math.max(16, (long) (expectedRecords / MAX_LOAD)) - 1) << 1;
+        if (slots * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many expected records: " + expectedRecords);
+        }
+        this.capacity = (int) slots;
+        this.table = new long[capacity * width];
+    }
+    
+    /**
+     * Passes a record through the first time it is seen.
+     * 
+     * @param record the record
+     * @return the record, or null if an equal record was seen before
+     */
+    @Override
+    public String[] apply(String[] record) {
+        return isDuplicate(record) ? null : record;
+    }
+    
+    /**
+     * Checks whether an equal record was seen before, and remembers it if not.
+     * 
+     * @param record the record
+     * @return true if the record is a duplicate
+     */
+    public boolean isDuplicate(String[] record) {
+        long high = StringHash.hash64(record, SEED_HIGH);
+        if (high == 0) {
+            high = SEED_HIGH;
+        }
+        long low = width == 2 ? StringHash.hash64(record, SEED_LOW) : 0;
+        if (!filter.put(high)) {
+            // Definitely new: store the fingerprint without comparing against the table
+            insert(high, low, false);
+            return false;
+        }
+        suspectedCount++;
+        if (insert(high, low, true)) {
+            return false;
+        }
+        duplicateCount++;
+        return true;
+    }
+    
+    /**
+     * Adds a fingerprint to the exact set.
+     * 
+     * @param check whether to look for an equal fingerprint first
+     * @return true if it was not present
+     */
+    private boolean insert(long high, long low, boolean check) {
+        int mask = capacity - 1;
+        int slot = (int) (high ^ (high >>> 32)) & mask;
+        while (table[slot * width] != 0) {
+            if (check && table[slot * width] == high && (width == 1 || table[slot * width + 1] == low)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot * width] = high;
+        if (width == 2) {
+            table[slot * width + 1] = low;
+        }
+        if (++size > capacity * MAX_LOAD) {
+            rehash();
+        }
+        return true;
+    }
+    
+    private void rehash() {
+        long[] old = table;
+        int oldCapacity = capacity;
+        if ((long) capacity * 2 * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Fingerprint table is full at " + size + " records");
+        }
+        capacity *= 2;
+        table = new long[capacity * width];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            long high = old[i * width];
+            if (high != 0) {
+                int slot = (int) (high ^ (high >>> 32)) & mask;
+                while (table[slot * width] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                System.arraycopy(old, i * width, table, slot * width, width);
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of distinct records seen.
+     * 
+     * @return distinct record count
+     */
+    public int getDistinctCount() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of records dropped as duplicates.
+     * 
+     * @return duplicate count
+     */
+    public long getDuplicateCount() {
+        return duplicateCount;
+    }
+    
+    /**
+     * Gets the number of records the Bloom filter flagged as possibly seen, which
+     * were then checked against the exact set. Suspected records that turned out to
+     * be new are the filter's false positives.
+     * 
+     * @return suspected duplicate count
+     */
+    public long getSuspectedCount() {
+        return suspectedCount;
+    }
+    
+    /**
+     * Gets the memory held by the filter and the fingerprint table.
+     * 
+     * @return size in bytes
+     */
+    public long getSizeBytes() {
+        return filter.getSizeBytes() + (long) table.length * Long.BYTES;
+    }
+}
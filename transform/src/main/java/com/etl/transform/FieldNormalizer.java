@@ -0,0 +1,74 @@
+package com.etl.transform;
+
+import java.util.Locale;
+
+/**
+ * Trims and upper-cases field values with as little allocation as possible.
+ * Values that are already normalized are returned as the same instance. Pure-ASCII
+ * values are trimmed and converted with a single copy; only values with
+ * non-ASCII characters fall back to full Unicode case mapping. Case mapping always
+ * uses {@link Locale#ROOT}, so results do not depend on the default locale.
+ */
+public final class FieldNormalizer {
+    
+    private FieldNormalizer() {
+    }
+    
+    /**
+     * Removes leading and trailing whitespace and converts to upper case.
+     * Equivalent to {@code value.trim().toUpperCase(Locale.ROOT)}.
+     * 
+     * @param value the field value
+     * @return the normalized value, or {@code value} itself if it is already normalized
+     */
+    public static String trimUpperCase(String value) {
+        int end = value.length();
+        int start = 0;
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return upperCase(value, start, end);
+    }
+    
+    /**
+     * Converts to upper case.
+     * Equivalent to {@code value.toUpperCase(Locale.ROOT)}.
+     * 
+     * @param value the field value
+     * @return the upper-case value, or {@code value} itself if it has no lower-case characters
+     */
+    public static String upperCase(String value) {
+        return upperCase(value, 0, value.length());
+    }
+    
+    private static String upperCase(String value, int start, int end) {
+        int first = start;
+        while (first < end) {
+            char c = value.charAt(first);
+            if ((c >= 'a' && c <= 'z') || c >= 0x80) {
+                break;
+            }
+            first++;
+        }
+        if (first == end) {
+            return start == 0 && end == value.length() ? value : value.substring(start, end);
+        }
+        
+        // Copy once and convert from the first character that needs it
+        char[] chars = new char[end - start];
+        value.getChars(start, end, chars, 0);
+        for (int i = first - start; i < chars.length; i++) {
+            char c = chars[i];
+            if (c >= 0x80) {
+                return value.substring(start, end).toUpperCase(Locale.ROOT);
+            }
+            if (c >= 'a' && c <= 'z') {
+                chars[i] = (char) (c - ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+}
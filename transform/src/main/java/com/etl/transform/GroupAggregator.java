@@ -0,0 +1,341 @@
+package com.etl.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Computes count, sum, min, max and average per distinct value of a key column in
+ * a single pass. Groups live in an open-addressing table over parallel primitive
+ * arrays, so memory grows with the number of groups, not the number of records,
+ * and no boxed numbers are created. Records without the key column are skipped.
+ * Values that are missing or not numeric still count towards their group but are
+ * left out of sum, min, max and average. Not thread-safe; aggregate in parallel
+ * with one instance per thread and {@link #merge(GroupAggregator)} the results.
+ */
+public final class GroupAggregator implements Consumer<String[]> {
+    
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private final int keyColumn;
+    private final int valueColumn;
+    
+    // Open-addressing index: group number + 1 per slot, 0 for an empty slot
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private long[] valueCounts = new long[INITIAL_CAPACITY];
+    private double[] sums = new double[INITIAL_CAPACITY];
+    private double[] mins = new double[INITIAL_CAPACITY];
+    private double[] maxs = new double[INITIAL_CAPACITY];
+    private int groupCount;
+    private long skippedCount;
+    
+    /**
+     * Creates an aggregator that only counts records per group.
+     * 
+     * @param keyColumn zero-based index of the column to group by, or -1 for a single group
+     */
+    public GroupAggregator(int keyColumn) {
+        this(keyColumn, -1);
+    }
+    
+    /**
+     * Creates an aggregator that counts records and summarizes a numeric column per group.
+     * 
+     * @param keyColumn zero-based index of the column to group by, or -1 to put every
+     *                  record into a single group with an empty key
+     * @param valueColumn zero-based index of the numeric column, or -1 to only count
+     */
+    public GroupAggregator(int keyColumn, int valueColumn) {
+        if (keyColumn < -1 || valueColumn < -1) {
+            throw new IllegalArgumentException("Invalid columns: key " + keyColumn + ", value " + valueColumn);
+        }
+        this.keyColumn = keyColumn;
+        this.valueColumn = valueColumn;
+    }
+    
+    /**
+     * Adds a record to its group.
+     * 
+     * @param record the record
+     */
+    @Override
+    public void accept(String[] record) {
+        if (keyColumn >= record.length) {
+            skippedCount++;
+            return;
+        }
+        int group = groupOf(keyColumn < 0 ? "" : record[keyColumn]);
+        counts[group]++;
+        if (valueColumn >= 0 && valueColumn < record.length) {
+            double value = parseNumber(record[valueColumn]);
+            if (!Double.isNaN(value)) {
+                addValue(group, 1, value, value, value);
+            }
+        }
+    }
+    
+    /**
+     * Adds every group of another aggregator over the same columns to this one.
+     * 
+     * @param other the aggregator to merge; left unchanged
+     * @throws IllegalArgumentException if the aggregators use different columns
+     */
+    public void merge(GroupAggregator other) {
+        if (other.keyColumn != keyColumn || other.valueColumn != valueColumn) {
+            throw new IllegalArgumentException("Cannot merge aggregators over different columns");
+        }
+        for (int i = 0; i < other.groupCount; i++) {
+            int group = groupOf(other.keys[i]);
+            counts[group] += other.counts[i];
+            if (other.valueCounts[i] > 0) {
+                addValue(group, other.valueCounts[i], other.sums[i], other.mins[i], other.maxs[i]);
+            }
+        }
+        skippedCount += other.skippedCount;
+    }
+    
+    private void addValue(int group, long valueCount, double sum, double min, double max) {
+        if (valueCounts[group] == 0) {
+            mins[group] = min;
+            maxs[group] = max;
+        } else {
+            mins[group] = Math.min(mins[group], min);
+            maxs[group] = Math.max(maxs[group], max);
+        }
+        valueCounts[group] += valueCount;
+        sums[group] += sum;
+    }
+    
+    /**
+     * Finds the group of a key, creating it if needed.
+     */
+    private int groupOf(String key) {
+        int mask = slots.length - 1;
+        int slot = mix(key.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            int group = slots[slot] - 1;
+            if (keys[group].equals(key)) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int group = groupCount++;
+        if (group == keys.length) {
+            grow();
+        }
+        keys[group] = key;
+        if (groupCount * 2 > slots.length) {
+            rehash(slots.length * 2);
+        } else {
+            slots[slot] = group + 1;
+        }
+        return group;
+    }
+    
+    private int find(String key) {
+        int mask = slots.length - 1;
+        int slot = mix(key.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            int group = slots[slot] - 1;
+            if (keys[group].equals(key)) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+    
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        valueCounts = Arrays.copyOf(valueCounts, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        mins = Arrays.copyOf(mins, capacity);
+        maxs = Arrays.copyOf(maxs, capacity);
+    }
+    
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int group = 0; group < groupCount; group++) {
+            int slot = mix(keys[group].hashCode()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+    }
+    
+    static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * Parses a numeric field, reading plain integers without allocating. Only plain
+     * decimal notation with an optional exponent is accepted; Java literal forms that
+     * {@link Double#parseDouble(String)} would also take, such as {@code 5d},
+     * {@code 1f} or hexadecimal {@code 0x1p3}, are not numbers here.
+     * 
+     * @return the value, or NaN if the field is not a number
+     */
+    static double parseNumber(String value) {
+        int length = value.length();
+        int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        if (start == length) {
+            return Double.NaN;
+        }
+        if (length - start <= 18) {
+            long parsed = 0;
+            int i = start;
+            while (i < length && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                parsed = parsed * 10 + (value.charAt(i) - '0');
+                i++;
+            }
+            if (i == length) {
+                return value.charAt(0) == '-' ? -parsed : parsed;
+            }
+        }
+        return isDecimal(value, start) ? Double.parseDouble(value) : Double.NaN;
+    }
+    
+    private static boolean isDecimal(String value, int start) {
+        int length = value.length();
+        int i = skipDigits(value, start);
+        boolean digits = i > start;
+        if (i < length && value.charAt(i) == '.') {
+            int fractionStart = i + 1;
+            i = skipDigits(value, fractionStart);
+            digits |= i > fractionStart;
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            i = skipDigits(value, exponentStart);
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+    
+    private static int skipDigits(String value, int i) {
+        while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+    
+    /**
+     * Gets the number of distinct keys seen.
+     * 
+     * @return group count
+     */
+    public int getGroupCount() {
+        return groupCount;
+    }
+    
+    /**
+     * Gets the number of records skipped because they had no key column.
+     * 
+     * @return skipped record count
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+    
+    /**
+     * Gets the number of records in a group.
+     * 
+     * @param key the group key
+     * @return record count, or 0 for an unknown key
+     */
+    public long getCount(String key) {
+        int group = find(key);
+        return group < 0 ? 0 : counts[group];
+    }
+    
+    /**
+     * Gets the sum of the numeric values in a group.
+     * 
+     * @param key the group key
+     * @return the sum, or 0 if the group has no numeric values
+     */
+    public double getSum(String key) {
+        int group = find(key);
+        return group < 0 ? 0 : sums[group];
+    }
+    
+    /**
+     * Gets the smallest numeric value in a group.
+     * 
+     * @param key the group key
+     * @return the minimum, or NaN if the group has no numeric values
+     */
+    public double getMin(String key) {
+        int group = find(key);
+        return group < 0 || valueCounts[group] == 0 ? Double.NaN : mins[group];
+    }
+    
+    /**
+     * Gets the largest numeric value in a group.
+     * 
+     * @param key the group key
+     * @return the maximum, or NaN if the group has no numeric values
+     */
+    public double getMax(String key) {
+        int group = find(key);
+        return group < 0 || valueCounts[group] == 0 ? Double.NaN : maxs[group];
+    }
+    
+    /**
+     * Gets the average of the numeric values in a group.
+     * 
+     * @param key the group key
+     * @return the average, or NaN if the group has no numeric values
+     */
+    public double getAverage(String key) {
+        int group = find(key);
+        return group < 0 || valueCounts[group] == 0 ? Double.NaN : sums[group] / valueCounts[group];
+    }
+    
+    /**
+     * Converts the groups to records in first-seen order, ready for a loader.
+     * Each record holds key and count, followed by sum, min, max and average when a
+     * value column is set. Statistics of groups without numeric values are empty.
+     * 
+     * @return one record per group
+     */
+    public List<String[]> toRecords() {
+        List<String[]> records = new ArrayList<>(groupCount);
+        for (int group = 0; group < groupCount; group++) {
+            if (valueColumn < 0) {
+                records.add(new String[] {keys[group], Long.toString(counts[group])});
+            } else if (valueCounts[group] == 0) {
+                records.add(new String[] {keys[group], Long.toString(counts[group]), "", "", "", ""});
+            } else {
+                records.add(new String[] {keys[group], Long.toString(counts[group]), format(sums[group]),
+                        format(mins[group]), format(maxs[group]), format(sums[group] / valueCounts[group])});
+            }
+        }
+        return records;
+    }
+    
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,647 @@
+package com.etl.transform;
+
+import com.etl.extract.FileExtractor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Enriches a record stream with the fields of matching reference records.
+ * The reference (build) side is read first into a hash table keyed by one of its
+ * columns. Each streamed (probe) record is then looked up by its own key column
+ * and emitted once per matching reference record, followed by that record's
+ * fields other than the key. An inner join drops probe records without a match;
+ * a left join emits them padded with empty fields.
+ * <p>
+ * The table keeps keys and reference rows in parallel arrays behind an
+ * open-addressing index, with repeated keys chained in file order. If its
+ * estimated size exceeds the memory budget, the join falls back to a grace hash
+ * join: reference records are split by key hash into partition files, probe
+ * records are appended to the matching probe partition, and {@link #finish()}
+ * joins one partition at a time. A partition still over budget is split again
+ * with another hash, up to a fixed depth. Once spilled, all output is produced by
+ * {@code finish()}. Each probe record is numbered as it arrives, each partition
+ * writes its joined rows to a file in that order, and the files are merged by
+ * number, so the sink still receives rows in input order. Not thread-safe.
+ */
+public final class HashJoin implements Consumer<String[]>, Closeable {
+    
+    /** Number of partitions each spill splits into. */
+    public static final int PARTITIONS = 16;
+    
+    private static final int MAX_SPLIT_DEPTH = 3;
+    private static final long[] SPLIT_SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L};
+    
+    private final int keyColumn;
+    private final int referenceKeyColumn;
+    private final boolean leftJoin;
+    private final long memoryBudgetBytes;
+    private final Path spillDirectory;
+    private final Consumer<String[]> sink;
+    
+    private Table table = new Table();
+    private int attributeWidth;
+    private long referenceCount;
+    private boolean probing;
+    private boolean finished;
+    
+    // Set once the reference side no longer fits the budget
+    private Path spillRoot;
+    private Path[] buildFiles;
+    private Path[] probeFiles;
+    private DataOutputStream[] buildOut;
+    private DataOutputStream[] probeOut;
+    private int spillFileCount;
+    private long probeSequence;
+    
+    private long matchedCount;
+    private long unmatchedCount;
+    
+    /**
+     * Creates a join. Reference records are added with {@link #build} or
+     * {@link #addReference} before the first probe record is accepted.
+     * 
+     * @param keyColumn zero-based index of the key column of probe records
+     * @param referenceKeyColumn zero-based index of the key column of reference records
+     * @param leftJoin true to keep probe records without a match, false for an inner join
+     * @param memoryBudgetBytes estimated size the in-memory table may reach before spilling
+     * @param spillDirectory directory in which partition files are created when spilling
+     * @param sink receives each joined record: the probe fields, then the reference fields
+     *             without the key, padded with empty strings to the widest reference record
+     */
+    public HashJoin(int keyColumn, int referenceKeyColumn, boolean leftJoin, long memoryBudgetBytes,
+                    Path spillDirectory, Consumer<String[]> sink) {
+        if (keyColumn < 0 || referenceKeyColumn < 0) {
+            throw new IllegalArgumentException("Invalid key columns: " + keyColumn + ", " + referenceKeyColumn);
+        }
+        if (memoryBudgetBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + memoryBudgetBytes);
+        }
+        this.keyColumn = keyColumn;
+        this.referenceKeyColumn = referenceKeyColumn;
+        this.leftJoin = leftJoin;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.spillDirectory = spillDirectory;
+        this.sink = sink;
+    }
+    
+    /**
+     * Reads a reference file into the join.
+     * 
+     * @param extractor the extractor that parses the file
+     * @param referencePath path to the reference file
+     * @param transform applied to each reference record before it is added, so that its
+     *                  key is normalized like the probe keys
+     * @return number of reference records read
+     * @throws IOException if reading the file or spilling fails
+     */
+    public int build(FileExtractor extractor, String referencePath, UnaryOperator<String[]> transform)
+            throws IOException {
+        try {
+            return extractor.forEachRecord(referencePath, record -> {
+                try {
+                    addReference(transform.apply(record));
+                } catch (IOException e) {
+                    throw new SpillException(e);
+                }
+            });
+        } catch (SpillException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Adds one reference record. Records without the key column are ignored.
+     * 
+     * @param record the reference record
+     * @throws IOException if spilling fails
+     * @throws IllegalStateException if probing has already started
+     */
+    public void addReference(String[] record) throws IOException {
+        if (probing) {
+            throw new IllegalStateException("Reference records must be added before probing");
+        }
+        if (referenceKeyColumn >= record.length) {
+            return;
+        }
+        String key = record[referenceKeyColumn];
+        String[] attributes = new String[record.length - 1];
+        System.arraycopy(record, 0, attributes, 0, referenceKeyColumn);
+        System.arraycopy(record, referenceKeyColumn + 1, attributes, referenceKeyColumn,
+                attributes.length - referenceKeyColumn);
+        attributeWidth = Math.max(attributeWidth, attributes.length);
+        referenceCount++;
+        if (buildOut != null) {
+            writeRecord(buildOut[partition(key, 0)], key, attributes);
+            return;
+        }
+        table.add(key, attributes);
+        if (table.bytes > memoryBudgetBytes) {
+            spill();
+        }
+    }
+    
+    private void spill() throws IOException {
+        spillRoot = Files.createTempDirectory(spillDirectory, "hash-join");
+        buildFiles = newSpillFiles();
+        probeFiles = newSpillFiles();
+        buildOut = openAll(buildFiles);
+        probeOut = openAll(probeFiles);
+        for (int entry = 0; entry < table.size; entry++) {
+            writeRecord(buildOut[partition(table.keys[entry], 0)], table.keys[entry], table.rows[entry]);
+        }
+        table = null;
+    }
+    
+    /**
+     * Joins a probe record: emits it once per matching reference record, or spills it
+     * until {@link #finish()} if the reference side was spilled.
+     * 
+     * @param record the probe record
+     * @throws UncheckedIOException if spilling fails
+     */
+    @Override
+    public void accept(String[] record) {
+        if (finished) {
+            throw new IllegalStateException("Join already finished");
+        }
+        probing = true;
+        if (probeOut == null) {
+            probe(table, record, sink);
+            return;
+        }
+        try {
+            String key = keyColumn < record.length ? record[keyColumn] : "";
+            writeRecord(probeOut[partition(key, 0)], Long.toString(probeSequence++), record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void probe(Table partition, String[] record, Consumer<String[]> target) {
+        int entry = keyColumn < record.length ? partition.find(record[keyColumn]) : -1;
+        if (entry < 0) {
+            unmatchedCount++;
+            if (leftJoin) {
+                target.accept(joined(record, null));
+            }
+            return;
+        }
+        matchedCount++;
+        for (; entry >= 0; entry = partition.next[entry] - 1) {
+            target.accept(joined(record, partition.rows[entry]));
+        }
+    }
+    
+    private String[] joined(String[] record, String[] attributes) {
+        String[] joined = new String[record.length + attributeWidth];
+        System.arraycopy(record, 0, joined, 0, record.length);
+        int filled = record.length;
+        if (attributes != null) {
+            System.arraycopy(attributes, 0, joined, filled, attributes.length);
+            filled += attributes.length;
+        }
+        Arrays.fill(joined, filled, joined.length, "");
+        return joined;
+    }
+    
+    /**
+     * Joins every spilled partition, one at a time, then emits the joined records in
+     * input order. Does nothing if the reference side fit in memory, since those
+     * records were joined as they arrived.
+     * 
+     * @throws IOException if reading or writing partition files fails
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        probing = true;
+        if (buildOut == null) {
+            return;
+        }
+        closeAll(buildOut);
+        closeAll(probeOut);
+        buildOut = null;
+        probeOut = null;
+        Path[] outputs = new Path[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++) {
+            outputs[i] = joinPartition(buildFiles[i], probeFiles[i], 1);
+        }
+        merge(outputs, null);
+    }
+    
+    /**
+     * Joins one pair of partition files.
+     * 
+     * @return a file of joined records, each stored after the sequence number of its
+     *         probe record and ordered by it
+     */
+    private Path joinPartition(Path buildFile, Path probeFile, int depth) throws IOException {
+        Table partition = new Table();
+        boolean split = false;
+        try (DataInputStream in = open(buildFile)) {
+            String[] record;
+            while ((record = readRecord(in)) != null) {
+                partition.add(record[0], Arrays.copyOfRange(record, 1, record.length));
+                if (partition.bytes > memoryBudgetBytes && depth < MAX_SPLIT_DEPTH) {
+                    split = true;
+                    break;
+                }
+            }
+        }
+        if (split) {
+            // Too large for the budget; split both sides again with an independent hash
+            partition = null;
+            Path[] subBuild = repartition(buildFile, 0, depth);
+            Path[] subProbe = repartition(probeFile, keyColumn + 1, depth);
+            Path[] subOutputs = new Path[PARTITIONS];
+            for (int i = 0; i < PARTITIONS; i++) {
+                subOutputs[i] = joinPartition(subBuild[i], subProbe[i], depth + 1);
+            }
+            Path output = newSpillFile();
+            try (DataOutputStream out = create(output)) {
+                merge(subOutputs, out);
+            }
+            return output;
+        }
+        Files.delete(buildFile);
+        Path output = newSpillFile();
+        try (DataInputStream in = open(probeFile); DataOutputStream out = create(output)) {
+            String[] record;
+            while ((record = readRecord(in)) != null) {
+                String sequence = record[0];
+                probe(partition, Arrays.copyOfRange(record, 1, record.length), joined -> {
+                    try {
+                        writeRecord(out, sequence, joined);
+                    } catch (IOException e) {
+                        throw new SpillException(e);
+                    }
+                });
+            }
+        } catch (SpillException e) {
+            throw e.getCause();
+        }
+        Files.delete(probeFile);
+        return output;
+    }
+    
+    /**
+     * Merges files of joined records, each ordered by probe sequence number, and
+     * deletes them. Rows of one probe record are all in the same file, so they stay
+     * together and in match order.
+     * 
+     * @param files the files to merge
+     * @param out receives the merged records with their sequence numbers, or null to
+     *            pass them to the sink without
+     */
+    private void merge(Path[] files, DataOutputStream out) throws IOException {
+        PriorityQueue<Run> heads = new PriorityQueue<>(files.length, Comparator.comparingLong(run -> run.sequence));
+        List<Run> runs = new ArrayList<>(files.length);
+        try {
+            for (Path file : files) {
+                Run run = new Run(open(file));
+                runs.add(run);
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            }
+            while (!heads.isEmpty()) {
+                Run run = heads.poll();
+                String[] fields = Arrays.copyOfRange(run.head, 1, run.head.length);
+                if (out != null) {
+                    writeRecord(out, run.head[0], fields);
+                } else {
+                    sink.accept(fields);
+                }
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            }
+        } finally {
+            for (Run run : runs) {
+                run.in.close();
+            }
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+    }
+    
+    /**
+     * Splits a partition file by the hash of one field.
+     * 
+     * @param keyField index of the key among the stored fields: 0 for reference records,
+     *                 the probe key column + 1 for probe records
+     */
+    private Path[] repartition(Path file, int keyField, int depth) throws IOException {
+        Path[] files = newSpillFiles();
+        DataOutputStream[] out = openAll(files);
+        try (DataInputStream in = open(file)) {
+            String[] record;
+            while ((record = readRecord(in)) != null) {
+                String key = keyField < record.length ? record[keyField] : "";
+                writeRecord(out[partition(key, depth)], record[0], Arrays.copyOfRange(record, 1, record.length));
+            }
+        } finally {
+            closeAll(out);
+        }
+        Files.delete(file);
+        return files;
+    }
+    
+    private static int partition(String key, int depth) {
+        return (int) (StringHash.hash64(key, SPLIT_SEEDS[depth]) >>> 32) & (PARTITIONS - 1);
+    }
+    
+    private Path[] newSpillFiles() {
+        Path[] files = new Path[PARTITIONS];
+        for (int i = 0; i < PARTITIONS; i++) {
+            files[i] = newSpillFile();
+        }
+        return files;
+    }
+    
+    private Path newSpillFile() {
+        return spillRoot.resolve("part-" + spillFileCount++);
+    }
+    
+    private static DataOutputStream create(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+    
+    private static DataOutputStream[] openAll(Path[] files) throws IOException {
+        DataOutputStream[] out = new DataOutputStream[files.length];
+        try {
+            for (int i = 0; i < files.length; i++) {
+                out[i] = create(files[i]);
+            }
+        } catch (IOException e) {
+            closeAll(out);
+            throw e;
+        }
+        return out;
+    }
+    
+    private static void closeAll(DataOutputStream[] out) throws IOException {
+        IOException failure = null;
+        for (DataOutputStream stream : out) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private static DataInputStream open(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+    
+    /**
+     * Writes a record as a field count followed by length-prefixed UTF-8 fields.
+     * Build records are stored as their key followed by their attributes; probe
+     * records and joined records are stored after the probe sequence number, so
+     * all of them read back alike.
+     */
+    private static void writeRecord(DataOutputStream out, String key, String[] fields) throws IOException {
+        out.writeInt(fields.length + 1);
+        writeField(out, key);
+        for (String field : fields) {
+            writeField(out, field);
+        }
+    }
+    
+    private static void writeField(DataOutputStream out, String field) throws IOException {
+        if (field == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String[] readRecord(DataInputStream in) throws IOException {
+        int count;
+        try {
+            count = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        String[] record = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                record[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return record;
+    }
+    
+    /**
+     * Deletes any partition files left behind, for example after a failure.
+     * 
+     * @throws IOException if closing or deleting a file fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (spillRoot == null) {
+            return;
+        }
+        if (buildOut != null) {
+            closeAll(buildOut);
+            closeAll(probeOut);
+            buildOut = null;
+            probeOut = null;
+        }
+        try (Stream<Path> files = Files.list(spillRoot)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(spillRoot);
+        spillRoot = null;
+    }
+    
+    /**
+     * Gets the number of reference records added.
+     * 
+     * @return reference record count
+     */
+    public long getReferenceCount() {
+        return referenceCount;
+    }
+    
+    /**
+     * Checks whether the reference side exceeded the memory budget and was spilled to disk.
+     * 
+     * @return true if the join is partitioned on disk
+     */
+    public boolean isSpilled() {
+        return buildFiles != null;
+    }
+    
+    /**
+     * Gets the number of probe records that matched at least one reference record.
+     * 
+     * @return matched probe record count
+     */
+    public long getMatchedCount() {
+        return matchedCount;
+    }
+    
+    /**
+     * Gets the number of probe records without a match; left joins still emit them.
+     * 
+     * @return unmatched probe record count
+     */
+    public long getUnmatchedCount() {
+        return unmatchedCount;
+    }
+    
+    /**
+     * Carries a spill file failure out of a callback, so that exceptions thrown by
+     * the caller's code propagate unchanged.
+     */
+    private static final class SpillException extends UncheckedIOException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        SpillException(IOException cause) {
+            super(cause);
+        }
+    }
+    
+    /**
+     * A file of joined records being merged, positioned on its next record.
+     */
+    private static final class Run {
+        
+        private final DataInputStream in;
+        private String[] head;
+        private long sequence;
+        
+        Run(DataInputStream in) {
+            this.in = in;
+        }
+        
+        boolean advance() throws IOException {
+            head = readRecord(in);
+            if (head == null) {
+                return false;
+            }
+            sequence = Long.parseLong(head[0]);
+            return true;
+        }
+    }
+    
+    /**
+     * Reference rows indexed by key. Rows with the same key are chained in insertion order.
+     */
+    private static final class Table {
+        
+        private static final int INITIAL_CAPACITY = 16;
+        // Rough per-row cost of the table entry, the row array and each field String
+        private static final long ENTRY_BYTES = 48;
+        private static final long FIELD_BYTES = 48;
+        
+        // Open-addressing index: first entry + 1 per distinct key, 0 for an empty slot
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private String[][] rows = new String[INITIAL_CAPACITY][];
+        // Next entry + 1 with the same key, and for first entries the last entry of the chain
+        private int[] next = new int[INITIAL_CAPACITY];
+        private int[] last = new int[INITIAL_CAPACITY];
+        private int size;
+        private int distinctKeys;
+        private long bytes;
+        
+        void add(String key, String[] row) {
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                rows = Arrays.copyOf(rows, capacity);
+                next = Arrays.copyOf(next, capacity);
+                last = Arrays.copyOf(last, capacity);
+            }
+            int entry = size++;
+            keys[entry] = key;
+            rows[entry] = row;
+            bytes += ENTRY_BYTES + (row.length + 1) * FIELD_BYTES + key.length();
+            for (String field : row) {
+                bytes += field.length();
+            }
+            
+            int mask = slots.length - 1;
+            int slot = GroupAggregator.mix(key.hashCode()) & mask;
+            while (slots[slot] != 0) {
+                int first = slots[slot] - 1;
+                if (keys[first].equals(key)) {
+                    next[last[first]] = entry + 1;
+                    last[first] = entry;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+            last[entry] = entry;
+            if (++distinctKeys * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+        }
+        
+        int find(String key) {
+            int mask = slots.length - 1;
+            int slot = GroupAggregator.mix(key.hashCode()) & mask;
+            while (slots[slot] != 0) {
+                int first = slots[slot] - 1;
+                if (keys[first].equals(key)) {
+                    return first;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+        
+        private void rehash(int capacity) {
+            int[] old = slots;
+            slots = new int[capacity];
+            int mask = capacity - 1;
+            for (int first : old) {
+                if (first != 0) {
+                    int slot = GroupAggregator.mix(keys[first - 1].hashCode()) & mask;
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = first;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.etl.transform;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Estimates quantiles of a numeric stream in bounded memory (a KLL sketch).
+ * Values enter level 0; when the sketch is full, its lowest full level is sorted
+ * and every other value, starting at a random offset, moves to the next level
+ * with twice the weight. Level capacities shrink geometrically towards the bottom,
+ * so the sketch holds about {@code 3k} values however long the stream is, and rank error is roughly
+ * {@code 1.7 / k} (under 1% at the default {@code k} of 200). Sketches with the
+ * same {@code k} can be merged. Min and max are tracked exactly.
+ */
+public final class QuantileSketch {
+    
+    /** Default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+    
+    private static final int MIN_LEVEL_CAPACITY = 2;
+    
+    private final int k;
+    private final Random random = new Random(0x51ED27L);
+    
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int levelCount = 1;
+    private int retained;
+    private int totalCapacity;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    
+    /**
+     * Creates a sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+    
+    /**
+     * Creates a sketch with the given accuracy.
+     * 
+     * @param k values kept at the top level; larger is more accurate
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY * 4) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY * 4 + ": " + k);
+        }
+        this.k = k;
+        levels[0] = new double[k];
+        totalCapacity = k;
+    }
+    
+    /**
+     * Adds a value. NaN is ignored.
+     * 
+     * @param value the value
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        append(0, value);
+        if (retained >= totalCapacity) {
+            compress();
+        }
+    }
+    
+    /**
+     * Adds every value summarized by another sketch to this one.
+     * 
+     * @param other a sketch with the same {@code k}; left unchanged
+     * @throws IllegalArgumentException if the accuracy parameters differ
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge k=" + other.k + " into k=" + k);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            double[] items = other.levels[level];
+            for (int i = 0, size = other.sizes[level]; i < size; i++) {
+                append(level, items[i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compress();
+    }
+    
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(2.0 / 3, depth)));
+    }
+    
+    private void append(int level, double value) {
+        if (level == levelCount) {
+            if (levelCount == levels.length) {
+                levels = Arrays.copyOf(levels, levelCount * 2);
+                sizes = Arrays.copyOf(sizes, levelCount * 2);
+            }
+            levels[levelCount++] = new double[MIN_LEVEL_CAPACITY * 2];
+            totalCapacity = 0;
+            for (int i = 0; i < levelCount; i++) {
+                totalCapacity += capacity(i);
+            }
+        }
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+        retained++;
+    }
+    
+    /**
+     * Compacts the lowest full level until the sketch fits its total capacity again.
+     * Levels may temporarily exceed their own capacity, which keeps compactions rare.
+     */
+    private void compress() {
+        while (retained >= totalCapacity) {
+            int level = 0;
+            while (sizes[level] < capacity(level)) {
+                level++;
+            }
+            compact(level);
+        }
+    }
+    
+    /**
+     * Moves every other value of a level, in sorted order, to the level above.
+     * An odd value out stays behind, so total weight is preserved exactly.
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int keep = size & 1;
+        for (int i = keep + (random.nextBoolean() ? 1 : 0); i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        retained -= size - keep;
+        sizes[level] = keep;
+    }
+    
+    /**
+     * Estimates the value at a quantile.
+     * 
+     * @param fraction the quantile, from 0 (minimum) to 1 (maximum)
+     * @return the estimated value, or NaN if no values were added
+     */
+    public double quantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + fraction);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+        // Merge the sorted levels, accumulating weight until the target rank is reached
+        double[][] sorted = new double[levelCount][];
+        int[] positions = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            sorted[level] = Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sorted[level]);
+        }
+        double target = fraction * count;
+        long cumulative = 0;
+        while (true) {
+            int next = -1;
+            for (int level = 0; level < levelCount; level++) {
+                if (positions[level] < sorted[level].length
+                        && (next < 0 || sorted[level][positions[level]] < sorted[next][positions[next]])) {
+                    next = level;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            cumulative += 1L << next;
+            if (cumulative >= target) {
+                return sorted[next][positions[next]];
+            }
+            positions[next]++;
+        }
+        return max;
+    }
+    
+    /**
+     * Estimates the fraction of values less than or equal to a value.
+     * 
+     * @param value the value
+     * @return the estimated normalized rank, or NaN if no values were added
+     */
+    public double rank(double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long weight = 0;
+        for (int level = 0; level < levelCount; level++) {
+            double[] items = levels[level];
+            for (int i = 0, size = sizes[level]; i < size; i++) {
+                if (items[i] <= value) {
+                    weight += 1L << level;
+                }
+            }
+        }
+        return (double) weight / count;
+    }
+    
+    /**
+     * Gets the number of values added.
+     * 
+     * @return the stream length
+     */
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the number of values currently held by the sketch.
+     * 
+     * @return retained value count
+     */
+    public int getRetainedCount() {
+        return retained;
+    }
+}
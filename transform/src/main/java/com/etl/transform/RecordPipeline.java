@@ -0,0 +1,283 @@
+package com.etl.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A chain of record operators applied in a single pass.
+ * Each record runs through every step before the next record is read, so no
+ * intermediate lists are built. Adjacent field-level steps such as {@link #trim()}
+ * and {@link #upperCase()} are fused into one loop over the fields, and the
+ * record array is only copied once a field actually changes; records whose
+ * fields are all unchanged are passed through as the same array. Input arrays
+ * are never modified by field-level steps, except through {@link #runInPlace(List)}
+ * and {@link #applyInPlace(String[])}. Pipelines are immutable: every operator
+ * returns a new pipeline.
+ */
+public final class RecordPipeline {
+    
+    /**
+     * A record-level operator.
+     */
+    @FunctionalInterface
+    public interface Step {
+        
+        /**
+         * Applies the step to a record.
+         * 
+         * @param record the record
+         * @return the resulting record, or null to drop it
+         */
+        String[] apply(String[] record);
+    }
+    
+    /**
+     * A field-level operator.
+     */
+    @FunctionalInterface
+    public interface FieldFunction {
+        
+        /**
+         * Computes the new value of a field.
+         * 
+         * @param column zero-based index of the field in its record
+         * @param value the current value
+         * @return the new value; return {@code value} itself to leave the field unchanged
+         */
+        String apply(int column, String value);
+    }
+    
+    private static final RecordPipeline IDENTITY = new RecordPipeline(new Step[0]);
+    
+    private final Step[] steps;
+    
+    private RecordPipeline(Step[] steps) {
+        this.steps = steps;
+    }
+    
+    /**
+     * Gets the empty pipeline, which passes every record through unchanged.
+     * 
+     * @return the identity pipeline
+     */
+    public static RecordPipeline identity() {
+        return IDENTITY;
+    }
+    
+    /**
+     * Appends a custom step.
+     * 
+     * @param step the step; may drop records by returning null
+     * @return the extended pipeline
+     */
+    public RecordPipeline then(Step step) {
+        Step[] extended = Arrays.copyOf(steps, steps.length + 1);
+        extended[steps.length] = step;
+        return new RecordPipeline(extended);
+    }
+    
+    /**
+     * Appends a record-level transformation.
+     * 
+     * @param mapper maps each record to its replacement
+     * @return the extended pipeline
+     */
+    public RecordPipeline map(UnaryOperator<String[]> mapper) {
+        return then(mapper::apply);
+    }
+    
+    /**
+     * Appends a filter.
+     * 
+     * @param predicate keeps records for which it returns true
+     * @return the extended pipeline
+     */
+    public RecordPipeline filter(Predicate<String[]> predicate) {
+        return then(record -> predicate.test(record) ? record : null);
+    }
+    
+    /**
+     * Appends a filter keeping records with at least the given number of fields.
+     * 
+     * @param minFields minimum number of fields required
+     * @return the extended pipeline
+     * @see DataTransformer#filterByFieldCount(List, int)
+     */
+    public RecordPipeline minFieldCount(int minFields) {
+        return filter(record -> record.length >= minFields);
+    }
+    
+    /**
+     * Appends a field-level transformation, fused with a directly preceding one.
+     * 
+     * @param function computes each field's new value
+     * @return the extended pipeline
+     */
+    public RecordPipeline mapFields(FieldFunction function) {
+        if (steps.length > 0 && steps[steps.length - 1] instanceof FieldStep) {
+            FieldFunction previous = ((FieldStep) steps[steps.length - 1]).function;
+            Step[] fused = steps.clone();
+            fused[steps.length - 1] = new FieldStep(
+                    (column, value) -> function.apply(column, previous.apply(column, value)));
+            return new RecordPipeline(fused);
+        }
+        return then(new FieldStep(function));
+    }
+    
+    /**
+     * Appends a step removing leading and trailing whitespace from every field.
+     * 
+     * @return the extended pipeline
+     */
+    public RecordPipeline trim() {
+        return mapFields((column, value) -> value.trim());
+    }
+    
+    /**
+     * Appends a step converting every field to upper case, independent of the default locale.
+     * 
+     * @return the extended pipeline
+     */
+    public RecordPipeline upperCase() {
+        return mapFields((column, value) -> FieldNormalizer.upperCase(value));
+    }
+    
+    /**
+     * Appends a step that trims and upper-cases every field in a single scan.
+     * Cheaper than {@code trim().upperCase()}, and fields that are already
+     * normalized are left as the same instance.
+     * 
+     * @return the extended pipeline
+     * @see FieldNormalizer#trimUpperCase(String)
+     */
+    public RecordPipeline normalize() {
+        return mapFields((column, value) -> FieldNormalizer.trimUpperCase(value));
+    }
+    
+    /**
+     * Runs a single record through the pipeline.
+     * 
+     * @param record the record
+     * @return the resulting record, or null if a step dropped it
+     */
+    public String[] apply(String[] record) {
+        for (Step step : steps) {
+            record = step.apply(record);
+            if (record == null) {
+                return null;
+            }
+        }
+        return record;
+    }
+    
+    /**
+     * Runs a single record through the pipeline, writing field-level results into
+     * the record array itself instead of a copy. Custom steps still run as given
+     * and may return a different array.
+     * 
+     * @param record the record; its fields may be overwritten
+     * @return the resulting record, or null if a step dropped it
+     */
+    public String[] applyInPlace(String[] record) {
+        for (Step step : steps) {
+            record = step instanceof FieldStep ? ((FieldStep) step).applyInPlace(record) : step.apply(record);
+            if (record == null) {
+                return null;
+            }
+        }
+        return record;
+    }
+    
+    /**
+     * Runs every record through the pipeline, reusing the input arrays and list.
+     * Fields are rewritten inside their arrays, surviving records are moved up over
+     * dropped ones, and the list is truncated to the survivors. Use this only when
+     * the raw records are not needed afterwards.
+     * 
+     * @param records the input records; replaced by the records that were not dropped
+     * @return {@code records}, holding the surviving records in input order
+     * @throws UnsupportedOperationException if the list does not support {@code set}
+     *         and removal through {@code subList}
+     */
+    public List<String[]> runInPlace(List<String[]> records) {
+        int kept = 0;
+        for (int i = 0; i < records.size(); i++) {
+            String[] result = applyInPlace(records.get(i));
+            if (result != null) {
+                records.set(kept++, result);
+            }
+        }
+        records.subList(kept, records.size()).clear();
+        return records;
+    }
+    
+    /**
+     * Runs every record through the pipeline in one pass.
+     * 
+     * @param records the input records
+     * @return the records that were not dropped, in input order
+     */
+    public List<String[]> run(List<String[]> records) {
+        List<String[]> output = new ArrayList<>(records.size());
+        run(records, output::add);
+        return output;
+    }
+    
+    /**
+     * Runs every record through the pipeline and hands the survivors to a consumer.
+     * 
+     * @param records the input records
+     * @param consumer receives each record that was not dropped, in input order
+     * @return number of records delivered
+     */
+    public int run(Iterable<String[]> records, Consumer<String[]> consumer) {
+        int count = 0;
+        for (String[] record : records) {
+            String[] result = apply(record);
+            if (result != null) {
+                consumer.accept(result);
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Applies a field function to every field, copying the array on the first change
+     * unless it runs in place.
+     */
+    private static final class FieldStep implements Step {
+        
+        private final FieldFunction function;
+        
+        FieldStep(FieldFunction function) {
+            this.function = function;
+        }
+        
+        @Override
+        public String[] apply(String[] record) {
+            String[] result = record;
+            for (int i = 0; i < record.length; i++) {
+                String value = function.apply(i, record[i]);
+                if (value != record[i]) {
+                    if (result == record) {
+                        result = record.clone();
+                    }
+                    result[i] = value;
+                }
+            }
+            return result;
+        }
+        
+        String[] applyInPlace(String[] record) {
+            for (int i = 0; i < record.length; i++) {
+                record[i] = function.apply(i, record[i]);
+            }
+            return record;
+        }
+    }
+}
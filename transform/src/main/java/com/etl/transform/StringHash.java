@@ -0,0 +1,71 @@
+package com.etl.transform;
+
+/**
+ * Seeded 64-bit hashing of field values and records for sketches and fingerprints.
+ * Reads four characters per step with MurmurHash3-style mixing and finishes with
+ * its 64-bit avalanche, so every input bit affects every output bit.
+ */
+final class StringHash {
+    
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+    
+    private StringHash() {
+    }
+    
+    /**
+     * Hashes a string.
+     * 
+     * @param value the value to hash
+     * @param seed selects an independent hash function
+     * @return the 64-bit hash
+     */
+    static long hash64(String value, long seed) {
+        int length = value.length();
+        long hash = seed ^ (length * 0x9E3779B97F4A7C15L);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = value.charAt(i) | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32 | (long) value.charAt(i + 3) << 48;
+            hash ^= mixBlock(block);
+            hash = Long.rotateLeft(hash, 27) * 5 + 0x52DCE729;
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) value.charAt(i) << shift;
+        }
+        hash ^= mixBlock(tail);
+        return finish(hash);
+    }
+    
+    /**
+     * Hashes a record. Each field is hashed with its length, so records that only
+     * differ in where their fields split hash differently.
+     * 
+     * @param fields the record
+     * @param seed selects an independent hash function
+     * @return the 64-bit hash
+     */
+    static long hash64(String[] fields, long seed) {
+        long hash = seed ^ (fields.length * 0x9E3779B97F4A7C15L);
+        for (String field : fields) {
+            hash ^= hash64(field, seed);
+            hash = Long.rotateLeft(hash, 27) * 5 + 0x52DCE729;
+        }
+        return finish(hash);
+    }
+    
+    private static long mixBlock(long block) {
+        block *= C1;
+        block = Long.rotateLeft(block, 31);
+        return block * C2;
+    }
+    
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,168 @@
+package com.etl.transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks the most frequent values of a stream in fixed memory.
+ * Occurrences are counted in a {@link CountMinSketch}, and the {@code k} values
+ * with the highest estimates so far are kept as candidates. A value displaces the
+ * weakest candidate once its estimate exceeds it, so values that become frequent
+ * late in the stream are still found. Values whose estimate cannot beat the
+ * weakest candidate are rejected without a table lookup. Sketches with the same
+ * {@code k} and counter shape can be merged.
+ */
+public final class TopKSketch {
+    
+    /** Default number of values tracked. */
+    public static final int DEFAULT_K = 10;
+    
+    private final int k;
+    private final CountMinSketch counts;
+    private final String[] values;
+    private final long[] estimates;
+    private final Map<String, Integer> slots;
+    private int size;
+    private long minEstimate;
+    
+    /**
+     * Creates a sketch tracking the default number of values.
+     */
+    public TopKSketch() {
+        this(DEFAULT_K);
+    }
+    
+    /**
+     * Creates a sketch tracking {@code k} values with a default-shaped counter.
+     * 
+     * @param k number of values to track
+     */
+    public TopKSketch(int k) {
+        this(k, new CountMinSketch());
+    }
+    
+    /**
+     * Creates a sketch tracking {@code k} values over the given counter.
+     * 
+     * @param k number of values to track
+     * @param counts an empty sketch that counts occurrences
+     */
+    public TopKSketch(int k, CountMinSketch counts) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        if (counts.getTotal() != 0) {
+            throw new IllegalArgumentException("Counter sketch must be empty");
+        }
+        this.k = k;
+        this.counts = counts;
+        this.values = new String[k];
+        this.estimates = new long[k];
+        this.slots = new HashMap<>(k * 2);
+    }
+    
+    /**
+     * Counts one occurrence of a value.
+     * 
+     * @param value the value
+     */
+    public void add(String value) {
+        offer(value, counts.add(value, 1));
+    }
+    
+    private void offer(String value, long estimate) {
+        // A candidate's estimate only grows, so one at or below the minimum is not a candidate
+        if (size == k && estimate <= minEstimate) {
+            return;
+        }
+        Integer slot = slots.get(value);
+        if (slot != null) {
+            boolean wasMinimum = estimates[slot] == minEstimate;
+            estimates[slot] = estimate;
+            if (wasMinimum && size == k) {
+                minEstimate = minimum();
+            }
+            return;
+        }
+        int target;
+        if (size < k) {
+            target = size++;
+        } else {
+            target = weakestSlot();
+            slots.remove(values[target]);
+        }
+        values[target] = value;
+        estimates[target] = estimate;
+        slots.put(value, target);
+        if (size == k) {
+            minEstimate = minimum();
+        }
+    }
+    
+    private int weakestSlot() {
+        int weakest = 0;
+        for (int i = 1; i < size; i++) {
+            if (estimates[i] < estimates[weakest]) {
+                weakest = i;
+            }
+        }
+        return weakest;
+    }
+    
+    private long minimum() {
+        return estimates[weakestSlot()];
+    }
+    
+    /**
+     * Adds every occurrence counted by another sketch to this one. Candidates of
+     * both sketches are re-estimated against the merged counts and the best
+     * {@code k} are kept.
+     * 
+     * @param other a sketch with the same {@code k} and counter shape; left unchanged
+     * @throws IllegalArgumentException if the sketches differ in shape
+     */
+    public void merge(TopKSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge k=" + other.k + " into k=" + k);
+        }
+        counts.merge(other.counts);
+        Set<String> candidates = new LinkedHashSet<>(Arrays.asList(values).subList(0, size));
+        candidates.addAll(Arrays.asList(other.values).subList(0, other.size));
+        size = 0;
+        slots.clear();
+        for (String candidate : candidates) {
+            offer(candidate, counts.estimate(candidate));
+        }
+    }
+    
+    /**
+     * Gets the tracked values with their estimated counts, most frequent first.
+     * 
+     * @return up to {@code k} entries ordered by descending count, then by value
+     */
+    public List<Map.Entry<String, Long>> getTopK() {
+        List<Map.Entry<String, Long>> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(Map.entry(values[i], estimates[i]));
+        }
+        top.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return top;
+    }
+    
+    /**
+     * Estimates how often a value occurred, whether or not it is tracked.
+     * 
+     * @param value the value
+     * @return the estimated count; never less than the true count
+     */
+    public long estimate(String value) {
+        return counts.estimate(value);
+    }
+}
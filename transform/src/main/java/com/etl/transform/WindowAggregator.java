@@ -0,0 +1,180 @@
+package com.etl.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Aggregates a record stream per window and emits each window as soon as it closes.
+ * Windows span {@code size} units and start every {@code slide} units; equal
+ * size and slide give tumbling windows, a smaller slide gives overlapping sliding
+ * windows. Units are either record positions in the stream or the numeric values
+ * of a time column. Each open window holds a {@link GroupAggregator}, so its state
+ * is bounded by the number of groups. A window closes once the stream has moved
+ * past its end. It is then handed to the sink and evicted, so at most
+ * {@code size / slide} windows are open at any time.
+ * <p>
+ * Time windows close when a record with a timestamp at or after their end
+ * arrives. Records older than every window still open are late: they are counted
+ * and dropped. Not thread-safe.
+ */
+public final class WindowAggregator implements Consumer<String[]> {
+    
+    private final long size;
+    private final long slide;
+    private final int timeColumn;
+    private final int keyColumn;
+    private final int valueColumn;
+    private final Consumer<List<String[]>> sink;
+    private final TreeMap<Long, GroupAggregator> open = new TreeMap<>();
+    
+    private long position;
+    private long watermark = Long.MIN_VALUE;
+    private long emittedWindows;
+    private long lateCount;
+    private long skippedCount;
+    
+    /**
+     * Creates a window aggregator.
+     * 
+     * @param size window length, in records or time units
+     * @param slide distance between window starts; from 1 to {@code size}
+     * @param timeColumn zero-based index of a numeric time column, or -1 to window by
+     *                   record position
+     * @param keyColumn zero-based index of the column to group by within each window,
+     *                  or -1 for one group per window
+     * @param valueColumn zero-based index of the numeric column to summarize, or -1 to only count
+     * @param sink receives the rows of each closed window, in window order; each row
+     *             holds window start, window end (exclusive), then the key if grouping,
+     *             and the statistics of {@link GroupAggregator#toRecords()}
+     */
+    public WindowAggregator(long size, long slide, int timeColumn, int keyColumn, int valueColumn,
+                            Consumer<List<String[]>> sink) {
+        if (size <= 0 || slide <= 0 || slide > size) {
+            throw new IllegalArgumentException("Invalid window: size " + size + ", slide " + slide);
+        }
+        if (timeColumn < -1 || keyColumn < -1 || valueColumn < -1) {
+            throw new IllegalArgumentException("Invalid columns: time " + timeColumn + ", key " + keyColumn
+                    + ", value " + valueColumn);
+        }
+        this.size = size;
+        this.slide = slide;
+        this.timeColumn = timeColumn;
+        this.keyColumn = keyColumn;
+        this.valueColumn = valueColumn;
+        this.sink = sink;
+    }
+    
+    /**
+     * Adds a record to every window it falls into, then emits the windows it closes.
+     * 
+     * @param record the record
+     */
+    @Override
+    public void accept(String[] record) {
+        long time;
+        if (timeColumn < 0) {
+            time = position++;
+        } else {
+            double parsed = timeColumn < record.length ? GroupAggregator.parseNumber(record[timeColumn]) : Double.NaN;
+            if (Double.isNaN(parsed)) {
+                skippedCount++;
+                return;
+            }
+            time = (long) Math.floor(parsed);
+        }
+        
+        boolean added = false;
+        for (long start = Math.floorDiv(time, slide) * slide; start > time - size; start -= slide) {
+            if (start + size <= watermark) {
+                // This and every earlier window has already been emitted
+                break;
+            }
+            open.computeIfAbsent(start, key -> new GroupAggregator(keyColumn, valueColumn)).accept(record);
+            added = true;
+        }
+        if (!added) {
+            lateCount++;
+        }
+        
+        // A record position is final once taken; a timestamp may repeat, so only earlier windows are complete
+        closeUpTo(timeColumn < 0 ? time + 1 : time);
+    }
+    
+    private void closeUpTo(long newWatermark) {
+        if (newWatermark <= watermark) {
+            return;
+        }
+        watermark = newWatermark;
+        while (!open.isEmpty() && open.firstKey() + size <= watermark) {
+            emit(open.pollFirstEntry());
+        }
+    }
+    
+    /**
+     * Emits and evicts every open window, for example at the end of the input.
+     * Records arriving afterwards only open new windows.
+     */
+    public void flush() {
+        while (!open.isEmpty()) {
+            Map.Entry<Long, GroupAggregator> window = open.pollFirstEntry();
+            watermark = Math.max(watermark, window.getKey() + size);
+            emit(window);
+        }
+    }
+    
+    private void emit(Map.Entry<Long, GroupAggregator> window) {
+        String start = Long.toString(window.getKey());
+        String end = Long.toString(window.getKey() + size);
+        List<String[]> groups = window.getValue().toRecords();
+        List<String[]> rows = new ArrayList<>(groups.size());
+        int skip = keyColumn < 0 ? 1 : 0;
+        for (String[] group : groups) {
+            String[] row = new String[group.length + 2 - skip];
+            row[0] = start;
+            row[1] = end;
+            System.arraycopy(group, skip, row, 2, group.length - skip);
+            rows.add(row);
+        }
+        emittedWindows++;
+        sink.accept(rows);
+    }
+    
+    /**
+     * Gets the number of windows currently open.
+     * 
+     * @return open window count
+     */
+    public int getOpenWindowCount() {
+        return open.size();
+    }
+    
+    /**
+     * Gets the number of windows emitted so far.
+     * 
+     * @return emitted window count
+     */
+    public long getEmittedWindowCount() {
+        return emittedWindows;
+    }
+    
+    /**
+     * Gets the number of records dropped because all their windows had closed.
+     * 
+     * @return late record count
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+    
+    /**
+     * Gets the number of records skipped because their time column was missing or not numeric.
+     * 
+     * @return skipped record count
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+}
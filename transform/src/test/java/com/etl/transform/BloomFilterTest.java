@@ -0,0 +1,79 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for BloomFilter class.
+ */
+public class BloomFilterTest {
+
+    private static long hash(int i) {
+        return StringHash.hash64("item" + i, 42);
+    }
+
+    /**
+     * Tests that every added hash is reported present and absent hashes match the target rate.
+     */
+    @Test
+    public void testMightContain_SizedWorkload_NoFalseNegativesAndTargetRate() {
+        for (double rate : new double[] {0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(100_000, rate);
+            for (int i = 0; i < 100_000; i++) {
+                filter.put(hash(i));
+            }
+
+            for (int i = 0; i < 100_000; i++) {
+                assertTrue(filter.mightContain(hash(i)));
+            }
+            int falsePositives = 0;
+            for (int i = 100_000; i < 1_100_000; i++) {
+                if (filter.mightContain(hash(i))) {
+                    falsePositives++;
+                }
+            }
+            double observed = falsePositives / 1_000_000.0;
+            assertTrue("Observed " + observed + " for " + rate, observed > rate / 2 && observed < rate * 1.5);
+        }
+    }
+
+    /**
+     * Tests that put reports whether a hash may have been added before.
+     */
+    @Test
+    public void testPut_RepeatedHash_ReportsPresent() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertFalse(filter.put(hash(1)));
+        assertTrue(filter.put(hash(1)));
+        assertFalse(filter.mightContain(hash(2)));
+    }
+
+    /**
+     * Tests that size and probe count follow the optimal formulas.
+     */
+    @Test
+    public void testConstructor_OnePercent_UsesAboutTenBitsPerEntry() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        assertEquals(7, filter.getProbeCount());
+        assertEquals(1_198_132, filter.getSizeBytes(), 64);
+    }
+
+    /**
+     * Tests that a false-positive rate outside (0, 1) is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RateOfOne_ThrowsException() {
+        new BloomFilter(100, 1);
+    }
+
+    /**
+     * Tests that a non-positive expected size is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoExpectedInsertions_ThrowsException() {
+        new BloomFilter(0, 0.01);
+    }
+}
@@ -0,0 +1,67 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ColumnSketch class.
+ */
+public class ColumnSketchTest {
+
+    /**
+     * Tests that column sketches stay within their error bounds and that merged partitions agree.
+     */
+    @Test
+    public void testAccept_LargeColumn_EstimatesWithinBounds() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Value i % 20000 for most records; "HOT" for every tenth one
+            records.add(new String[] {i % 10 == 0 ? "HOT" : Integer.toString(i % 20_000)});
+        }
+        DataTransformer transformer = new DataTransformer();
+
+        ColumnSketch whole = transformer.sketch(records, 0);
+        ColumnSketch merged = transformer.sketch(records.subList(0, 70_000), 0);
+        merged.merge(transformer.sketch(records.subList(70_000, 200_000), 0));
+
+        for (ColumnSketch sketch : new ColumnSketch[] {whole, merged}) {
+            assertEquals(200_000, sketch.getCount());
+            assertEquals(18_001, sketch.getDistinctCount(), 18_001 * 0.03);
+            assertEquals(180_000, sketch.getNumericCount());
+            assertEquals(1, sketch.getQuantile(0), 0);
+            assertEquals(19_999, sketch.getQuantile(1), 0);
+            assertEquals(10_000, sketch.getQuantile(0.5), 20_000 * 0.01);
+            assertEquals("HOT", sketch.getTopValues().get(0).getKey());
+            assertTrue(sketch.getTopValues().get(0).getValue() >= 20_000);
+        }
+    }
+
+    /**
+     * Tests that records without the column are skipped and non-numeric values only skip the quantiles.
+     */
+    @Test
+    public void testAccept_MissingAndTextValues_AreCountedSeparately() {
+        ColumnSketch sketch = new ColumnSketch(1, 2);
+        sketch.accept(new String[] {"a"});
+        sketch.accept(new String[] {"a", "x"});
+        sketch.accept(new String[] {"a", "5"});
+
+        assertEquals(2, sketch.getCount());
+        assertEquals(1, sketch.getNumericCount());
+        assertEquals(2, sketch.getDistinctCount());
+        assertEquals(5, sketch.getQuantile(0.5), 0);
+        assertEquals(2, sketch.getTopValues().size());
+    }
+
+    /**
+     * Tests that sketches of different columns cannot be merged.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentColumns_ThrowsException() {
+        new ColumnSketch(0).merge(new ColumnSketch(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CountMinSketch class.
+ */
+public class CountMinSketchTest {
+
+    /**
+     * Tests that estimates never fall below the true count and overshoot by at most a few e / width of the total.
+     */
+    @Test
+    public void testEstimate_SkewedStream_NeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            // Roughly Zipfian: small values are far more frequent
+            String value = "v" + (int) Math.floor(Math.pow(20_000, random.nextDouble()));
+            sketch.add(value);
+            exact.merge(value, 1L, Long::sum);
+        }
+        double bound = Math.E / sketch.getWidth() * sketch.getTotal();
+
+        int overBound = 0;
+        for (Map.Entry<String, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(entry.getKey(), estimate >= entry.getValue());
+            if (estimate - entry.getValue() > bound) {
+                overBound++;
+            }
+        }
+        assertEquals(200_000, sketch.getTotal());
+        assertTrue("Over bound: " + overBound, overBound <= exact.size() * 0.05);
+        assertEquals(0, new CountMinSketch().estimate("never"));
+    }
+
+    /**
+     * Tests that adding with a count returns the updated estimate.
+     */
+    @Test
+    public void testAdd_WithOccurrences_ReturnsEstimate() {
+        CountMinSketch sketch = new CountMinSketch();
+
+        assertEquals(5, sketch.add("a", 5));
+        assertEquals(7, sketch.add("a", 2));
+        assertEquals(7, sketch.getTotal());
+    }
+
+    /**
+     * Tests that merging partitions gives exactly the counters of a single sketch.
+     */
+    @Test
+    public void testMerge_Partitions_MatchesSingleSketch() {
+        CountMinSketch single = new CountMinSketch(256, 3);
+        CountMinSketch first = new CountMinSketch(256, 3);
+        CountMinSketch second = new CountMinSketch(256, 3);
+        for (int i = 0; i < 20_000; i++) {
+            String value = "v" + (i % 1500);
+            single.add(value);
+            (i % 2 == 0 ? first : second).add(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(single.getTotal(), first.getTotal());
+        for (int i = 0; i < 1500; i++) {
+            assertEquals(single.estimate("v" + i), first.estimate("v" + i));
+        }
+    }
+
+    /**
+     * Tests that the width is rounded up to a power of two and shapes must match to merge.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentShape_ThrowsException() {
+        CountMinSketch sketch = new CountMinSketch(1000, 3);
+        assertEquals(1024, sketch.getWidth());
+        assertEquals(3, sketch.getDepth());
+
+        sketch.merge(new CountMinSketch(1024, 4));
+    }
+}
@@ -0,0 +1,181 @@
+package com.etl.transform;
+
+import com.etl.extract.FieldDictionary;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DataTransformer class.
+ */
+public class DataTransformerTest {
+
+    private final DataTransformer transformer = new DataTransformer();
+
+    private static List<String[]> sampleRecords(int count) {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(i % 100 == 0 ? new String[0] : new String[] {" user" + i + " ", "x"});
+        }
+        return records;
+    }
+
+    /**
+     * Tests that records are trimmed and upper-cased into new arrays.
+     */
+    @Test
+    public void testTransform_RawRecords_TrimsAndUpperCases() {
+        String[] raw = {" john ", "Engineer"};
+
+        List<String[]> transformed = transformer.transform(Arrays.<String[]>asList(raw));
+
+        assertArrayEquals(new String[] {"JOHN", "ENGINEER"}, transformed.get(0));
+        assertArrayEquals(new String[] {" john ", "Engineer"}, raw);
+    }
+
+    /**
+     * Tests that filtering keeps only records with enough fields.
+     */
+    @Test
+    public void testFilterByFieldCount_ShortRecords_AreDropped() {
+        List<String[]> records = Arrays.asList(new String[] {"a"}, new String[] {"a", "b"}, new String[0]);
+
+        assertEquals(1, transformer.filterByFieldCount(records, 2).size());
+        assertEquals(3, transformer.aggregateCount(records));
+    }
+
+    /**
+     * Tests that the dictionary variant shares equal output values.
+     */
+    @Test
+    public void testTransform_WithDictionary_SharesValues() {
+        List<String[]> records = Arrays.asList(new String[] {"a", "eng"}, new String[] {"b", " ENG"});
+
+        List<String[]> transformed = transformer.transform(records, new FieldDictionary(8));
+
+        assertEquals("ENG", transformed.get(0)[1]);
+        assertSame(transformed.get(0)[1], transformed.get(1)[1]);
+    }
+
+    /**
+     * Tests that the in-place transform rewrites the given arrays.
+     */
+    @Test
+    public void testTransformInPlace_RawRecords_ReusesArrays() {
+        String[] raw = {" a ", "b"};
+        List<String[]> records = new ArrayList<>(Arrays.<String[]>asList(raw));
+
+        assertSame(records, transformer.transformInPlace(records));
+        assertSame(raw, records.get(0));
+        assertArrayEquals(new String[] {"A", "B"}, raw);
+    }
+
+    /**
+     * Tests that the in-place transform with a pipeline compacts dropped records
+     * within the given list.
+     */
+    @Test
+    public void testTransformInPlace_WithPipeline_CompactsSameList() {
+        String[] first = {" a "};
+        String[] third = {"c", "d"};
+        List<String[]> records = new ArrayList<>(Arrays.asList(first, new String[0], third));
+
+        List<String[]> result = transformer.transformInPlace(records,
+                RecordPipeline.identity().minFieldCount(1).mapFields((column, value) -> value.trim()));
+
+        assertSame(records, result);
+        assertEquals(2, result.size());
+        assertSame(first, result.get(0));
+        assertSame(third, result.get(1));
+        assertArrayEquals(new String[] {"a"}, first);
+    }
+
+    /**
+     * Tests that a parallel transform keeps input order and matches the sequential result.
+     */
+    @Test
+    public void testTransformParallel_ManyChunks_KeepsInputOrder() {
+        List<String[]> records = sampleRecords(20_000);
+        RecordPipeline pipeline = RecordPipeline.identity().trim().upperCase().minFieldCount(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String[]> sequential = transformer.transform(records, pipeline);
+            List<String[]> parallel = transformer.transformParallel(records, pipeline, pool, 256);
+
+            assertEquals(19_800, parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertArrayEquals(sequential.get(i), parallel.get(i));
+            }
+            assertEquals("USER1", parallel.get(0)[0]);
+            assertEquals(transformer.transform(records).size(), transformer.transformParallel(records).size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that records dropped at chunk edges, and a chunk dropped entirely, leave
+     * the surviving records in input order.
+     */
+    @Test
+    public void testTransformParallel_DropsAcrossChunkBoundaries_KeepsInputOrder() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            records.add(new String[] {String.valueOf(i)});
+        }
+        // A threshold of 4 splits 16 records into chunks [0, 4), [4, 8), [8, 12) and [12, 16)
+        RecordPipeline pipeline = RecordPipeline.identity().filter(record -> {
+            int index = Integer.parseInt(record[0]);
+            return index % 4 != 0 && index % 4 != 3 && (index < 8 || index >= 12);
+        });
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String[]> parallel = transformer.transformParallel(records, pipeline, pool, 4);
+
+            assertEquals(6, parallel.size());
+            String[] expected = {"1", "2", "5", "6", "13", "14"};
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], parallel.get(i)[0]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the parallel in-place transform compacts the input list and reuses its arrays.
+     */
+    @Test
+    public void testTransformParallelInPlace_ManyChunks_ReusesListAndArrays() {
+        List<String[]> records = sampleRecords(10_000);
+        RecordPipeline pipeline = RecordPipeline.identity().normalize().minFieldCount(1);
+        List<String[]> expected = transformer.transform(records, pipeline);
+        String[] second = records.get(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String[]> result = transformer.transformParallelInPlace(records, pipeline, pool, 128);
+
+            assertSame(records, result);
+            assertSame(second, result.get(0));
+            assertEquals(expected.size(), result.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), result.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a non-positive threshold is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransformParallel_ZeroThreshold_ThrowsException() {
+        transformer.transformParallel(sampleRecords(10), RecordPipeline.identity(), ForkJoinPool.commonPool(), 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Deduplicator class.
+ */
+public class DeduplicatorTest {
+
+    /**
+     * Tests that only the first occurrence of each record is kept, for both fingerprint widths,
+     * while the table grows far past its initial capacity.
+     */
+    @Test
+    public void testApply_ResentRecords_KeepsFirstOccurrences() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int id = (int) ((i * 2654435761L) % 30_000);
+            records.add(new String[] {"user" + id, id % 7 == 0 ? "" : "x" + (id % 11)});
+        }
+        List<String[]> expected = new ArrayList<>();
+        Set<List<String>> seen = new HashSet<>();
+        for (String[] record : records) {
+            if (seen.add(Arrays.asList(record))) {
+                expected.add(record);
+            }
+        }
+
+        for (int bits : new int[] {64, 128}) {
+            // Sized for 1000 records, so the table rehashes several times
+            Deduplicator deduplicator = new Deduplicator(1000, 0.01, bits);
+            long initialSize = deduplicator.getSizeBytes();
+            List<String[]> kept = RecordPipeline.identity().then(deduplicator).run(records);
+
+            assertEquals(expected.size(), kept.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i), kept.get(i));
+            }
+            assertEquals(expected.size(), deduplicator.getDistinctCount());
+            assertEquals(records.size() - expected.size(), deduplicator.getDuplicateCount());
+            assertTrue(deduplicator.getSizeBytes() > initialSize);
+        }
+    }
+
+    /**
+     * Tests that suspected records are the duplicates plus the Bloom filter's false positives.
+     */
+    @Test
+    public void testIsDuplicate_Counters_SeparateSuspectedFromDuplicates() {
+        Deduplicator deduplicator = new Deduplicator(50_000, 0.05, 128);
+        for (int i = 0; i < 50_000; i++) {
+            assertFalse(deduplicator.isDuplicate(new String[] {"row", Integer.toString(i)}));
+        }
+        long falsePositives = deduplicator.getSuspectedCount();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(deduplicator.isDuplicate(new String[] {"row", Integer.toString(i)}));
+        }
+
+        assertTrue("False positives: " + falsePositives, falsePositives > 0 && falsePositives < 50_000 * 0.05 * 1.5);
+        assertEquals(1000, deduplicator.getDuplicateCount());
+        assertEquals(falsePositives + 1000, deduplicator.getSuspectedCount());
+        assertEquals(50_000, deduplicator.getDistinctCount());
+    }
+
+    /**
+     * Tests that 64-bit fingerprints use half the table memory of 128-bit ones.
+     */
+    @Test
+    public void testGetSizeBytes_64BitFingerprints_HalveTable() {
+        long filterBytes = new BloomFilter(100_000, 0.01).getSizeBytes();
+
+        long wide = new Deduplicator(100_000, 0.01, 128).getSizeBytes() - filterBytes;
+        long narrow = new Deduplicator(100_000, 0.01, 64).getSizeBytes() - filterBytes;
+
+        assertEquals(wide, narrow * 2);
+    }
+
+    /**
+     * Tests that records differing only in field boundaries are not duplicates.
+     */
+    @Test
+    public void testIsDuplicate_ShiftedFieldBoundary_IsDistinct() {
+        Deduplicator deduplicator = new Deduplicator(16);
+
+        assertFalse(deduplicator.isDuplicate(new String[] {"ab", "c"}));
+        assertFalse(deduplicator.isDuplicate(new String[] {"a", "bc"}));
+        assertFalse(deduplicator.isDuplicate(new String[] {"abc"}));
+        assertTrue(deduplicator.isDuplicate(new String[] {"a", "bc"}));
+    }
+
+    /**
+     * Tests that fingerprint widths other than 64 and 128 bits are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_InvalidFingerprintBits_ThrowsException() {
+        new Deduplicator(100, 0.01, 96);
+    }
+}
@@ -0,0 +1,90 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FieldNormalizer class.
+ */
+public class FieldNormalizerTest {
+
+    private static void assertMatchesTrimUpperCase(String value) {
+        assertEquals(value.trim().toUpperCase(Locale.ROOT), FieldNormalizer.trimUpperCase(value));
+    }
+
+    /**
+     * Tests that an already normalized value comes back as the same instance.
+     */
+    @Test
+    public void testTrimUpperCase_AlreadyNormalized_ReturnsSameInstance() {
+        String value = "ENGINEER 42";
+
+        assertSame(value, FieldNormalizer.trimUpperCase(value));
+        assertSame(value, FieldNormalizer.upperCase(value));
+    }
+
+    /**
+     * Tests that leading and trailing spaces and control characters are removed like String.trim().
+     */
+    @Test
+    public void testTrimUpperCase_SpacesAndControlCharacters_AreTrimmed() {
+        assertMatchesTrimUpperCase("  john ");
+        assertMatchesTrimUpperCase("\t\r\njohn doe\u0000\u001f");
+        assertMatchesTrimUpperCase(" JOHN");
+        assertMatchesTrimUpperCase("\u0001a\u0001b\u0001");
+        assertEquals("A\u0001B", FieldNormalizer.trimUpperCase("\u0001a\u0001b\u0001"));
+    }
+
+    /**
+     * Tests that whitespace-only and empty values normalize to the empty string.
+     */
+    @Test
+    public void testTrimUpperCase_BlankValues_BecomeEmpty() {
+        assertEquals("", FieldNormalizer.trimUpperCase(""));
+        assertEquals("", FieldNormalizer.trimUpperCase("   "));
+        assertEquals("", FieldNormalizer.trimUpperCase(" \t\n\u0000 "));
+    }
+
+    /**
+     * Tests that DEL, the last ASCII character, is neither trimmed nor case mapped.
+     */
+    @Test
+    public void testTrimUpperCase_DeleteCharacter_IsKept() {
+        assertMatchesTrimUpperCase("\u007f");
+        assertMatchesTrimUpperCase(" a\u007fz ");
+        assertEquals("\u007fA\u007f", FieldNormalizer.trimUpperCase("\u007fa\u007f"));
+    }
+
+    /**
+     * Tests that non-ASCII values fall back to full case mapping, including mappings that change length.
+     */
+    @Test
+    public void testTrimUpperCase_NonAscii_MatchesFullCaseMapping() {
+        assertMatchesTrimUpperCase(" stra\u00dfe ");
+        assertEquals("STRASSE", FieldNormalizer.trimUpperCase(" stra\u00dfe "));
+        assertEquals("SS", FieldNormalizer.upperCase("\u00df"));
+        assertMatchesTrimUpperCase("caf\u00e9");
+        assertMatchesTrimUpperCase("\u00c9COLE");
+        assertMatchesTrimUpperCase("  \u03b4\u03bf\u03ba\u03b9\u03bc\u03ae\t");
+        assertMatchesTrimUpperCase(" abc\u00a0");
+    }
+
+    /**
+     * Tests that case mapping ignores a Turkish default locale, which would map "i" to a dotted capital I.
+     */
+    @Test
+    public void testTrimUpperCase_TurkishDefaultLocale_UsesRootMapping() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(new Locale("tr"));
+        try {
+            assertEquals("\u0130", "i".toUpperCase());
+            assertEquals("I", FieldNormalizer.trimUpperCase(" i "));
+            assertEquals("TITLE", FieldNormalizer.upperCase("title"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
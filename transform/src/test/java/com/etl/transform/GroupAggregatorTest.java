@@ -0,0 +1,146 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for GroupAggregator class.
+ */
+public class GroupAggregatorTest {
+
+    /**
+     * Tests that count, sum, min, max and average are computed per key and skip non-numeric values.
+     */
+    @Test
+    public void testAccept_GroupWithValues_ComputesStatistics() {
+        GroupAggregator groups = new GroupAggregator(2, 1);
+        groups.accept(new String[] {"John", "30", "ENGINEER"});
+        groups.accept(new String[] {"Jane", "25", "DESIGNER"});
+        groups.accept(new String[] {"Bob", "35", "ENGINEER"});
+        groups.accept(new String[] {"Amy", "n/a", "ENGINEER"});
+        groups.accept(new String[] {"Kim"});
+
+        assertEquals(2, groups.getGroupCount());
+        assertEquals(1, groups.getSkippedCount());
+        assertEquals(3, groups.getCount("ENGINEER"));
+        assertEquals(65, groups.getSum("ENGINEER"), 0);
+        assertEquals(30, groups.getMin("ENGINEER"), 0);
+        assertEquals(35, groups.getMax("ENGINEER"), 0);
+        assertEquals(32.5, groups.getAverage("ENGINEER"), 0);
+        assertEquals(0, groups.getCount("missing"));
+        assertTrue(Double.isNaN(groups.getAverage("missing")));
+    }
+
+    /**
+     * Tests that records convert to rows in first-seen order, with empty statistics for groups without numbers.
+     */
+    @Test
+    public void testToRecords_MixedGroups_FormatsRows() {
+        GroupAggregator groups = new GroupAggregator(0, 1);
+        groups.accept(new String[] {"a", "1.5"});
+        groups.accept(new String[] {"b", "x"});
+        groups.accept(new String[] {"a", "2"});
+        GroupAggregator counts = new GroupAggregator(0);
+        counts.accept(new String[] {"a"});
+
+        List<String[]> rows = groups.toRecords();
+
+        assertArrayEquals(new String[] {"a", "2", "3.5", "1.5", "2", "1.75"}, rows.get(0));
+        assertArrayEquals(new String[] {"b", "1", "", "", "", ""}, rows.get(1));
+        assertArrayEquals(new String[] {"a", "1"}, counts.toRecords().get(0));
+    }
+
+    /**
+     * Tests that a missing key column puts every record into one group with an empty key.
+     */
+    @Test
+    public void testAccept_NoKeyColumn_UsesSingleGroup() {
+        GroupAggregator groups = new GroupAggregator(-1, 0);
+        groups.accept(new String[] {"4"});
+        groups.accept(new String[] {"6"});
+
+        assertEquals(1, groups.getGroupCount());
+        assertEquals(2, groups.getCount(""));
+        assertEquals(5, groups.getAverage(""), 0);
+    }
+
+    /**
+     * Tests that groups survive rehashing well past the initial capacity of 16.
+     */
+    @Test
+    public void testAccept_ManyGroups_SurvivesRehash() {
+        GroupAggregator groups = new GroupAggregator(0, 1);
+        for (int i = 0; i < 50_000; i++) {
+            groups.accept(new String[] {"key" + (i % 5000), Integer.toString(i)});
+        }
+
+        assertEquals(5000, groups.getGroupCount());
+        for (int key = 0; key < 5000; key += 499) {
+            assertEquals(10, groups.getCount("key" + key));
+            assertEquals(key, groups.getMin("key" + key), 0);
+            assertEquals(45_000 + key, groups.getMax("key" + key), 0);
+        }
+        assertEquals("key4999", groups.toRecords().get(4999)[0]);
+    }
+
+    /**
+     * Tests that merging partial aggregates matches a single pass over all records.
+     */
+    @Test
+    public void testMerge_Partitions_MatchSinglePass() {
+        GroupAggregator single = new GroupAggregator(0, 1);
+        GroupAggregator first = new GroupAggregator(0, 1);
+        GroupAggregator second = new GroupAggregator(0, 1);
+        for (int i = 0; i < 10_000; i++) {
+            String[] record = i % 97 == 0 ? new String[0] : new String[] {"key" + (i % 300), i % 7 == 0 ? "-" : "" + i};
+            single.accept(record);
+            (i < 4000 ? first : second).accept(record);
+        }
+
+        first.merge(second);
+
+        assertEquals(single.getGroupCount(), first.getGroupCount());
+        assertEquals(single.getSkippedCount(), first.getSkippedCount());
+        List<String[]> expected = single.toRecords();
+        List<String[]> actual = first.toRecords();
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * Tests that aggregators over different columns cannot be merged.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentColumns_ThrowsException() {
+        new GroupAggregator(0, 1).merge(new GroupAggregator(0, 2));
+    }
+
+    /**
+     * Tests that plain decimal numbers parse and Java literal forms do not.
+     */
+    @Test
+    public void testParseNumber_DecimalAndLiteralForms() {
+        assertEquals(42, GroupAggregator.parseNumber("42"), 0);
+        assertEquals(-7, GroupAggregator.parseNumber("-7"), 0);
+        assertEquals(3, GroupAggregator.parseNumber("+3"), 0);
+        assertEquals(0.5, GroupAggregator.parseNumber(".5"), 0);
+        assertEquals(2, GroupAggregator.parseNumber("2."), 0);
+        assertEquals(-1250, GroupAggregator.parseNumber("-1.25e3"), 0);
+        assertEquals(1e-2, GroupAggregator.parseNumber("1E-2"), 0);
+        assertEquals(12345678901234567890.0, GroupAggregator.parseNumber("12345678901234567890"), 0);
+
+        List<String> accepted = new ArrayList<>();
+        for (String value : new String[] {"", "-", ".", "5d", "1f", "2D", "0x1p3", "0x10", "1e", "1e+",
+                "Infinity", "NaN", "1,000", " 1", "1.2.3"}) {
+            if (!Double.isNaN(GroupAggregator.parseNumber(value))) {
+                accepted.add(value);
+            }
+        }
+        assertTrue("Accepted: " + accepted, accepted.isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+package com.etl.transform;
+
+import com.etl.extract.FileExtractor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HashJoin class.
+ */
+public class HashJoinTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that a reference side over the memory budget spills to partitions, joins the same rows
+     * in the same order as an in-memory join, and leaves no partition files behind.
+     */
+    @Test
+    public void testJoin_OverMemoryBudget_SpillsAndMatchesInMemory() throws IOException {
+        File spillDir = folder.newFolder("spill");
+        for (boolean leftJoin : new boolean[] {false, true}) {
+            List<String> inMemory = new ArrayList<>();
+            List<String> spilled = new ArrayList<>();
+            HashJoin memoryJoin = new HashJoin(1, 0, leftJoin, Long.MAX_VALUE, spillDir.toPath(),
+                    record -> inMemory.add(String.join(",", record)));
+            try (HashJoin spillJoin = new HashJoin(1, 0, leftJoin, 20_000, spillDir.toPath(),
+                    record -> spilled.add(String.join(",", record)))) {
+                for (int i = 0; i < 20_000; i++) {
+                    String[] reference = {"k" + (i % 15_000), "dept" + i};
+                    memoryJoin.addReference(reference);
+                    spillJoin.addReference(reference);
+                }
+                for (int i = 0; i < 50_000; i++) {
+                    String[] record = {"user" + i, "k" + (i % 18_000)};
+                    memoryJoin.accept(record);
+                    spillJoin.accept(record);
+                }
+                memoryJoin.finish();
+                spillJoin.finish();
+
+                assertFalse(memoryJoin.isSpilled());
+                assertTrue(spillJoin.isSpilled());
+                assertEquals(memoryJoin.getMatchedCount(), spillJoin.getMatchedCount());
+                assertEquals(memoryJoin.getUnmatchedCount(), spillJoin.getUnmatchedCount());
+            }
+            assertEquals(leftJoin ? 65_000 : 59_000, inMemory.size());
+            assertEquals(inMemory, spilled);
+            assertArrayEquals(new String[0], spillDir.list());
+        }
+    }
+
+    /**
+     * Tests that every matching reference row is emitted in file order and that left joins pad misses.
+     */
+    @Test
+    public void testAccept_RepeatedKeys_EmitsOneRowPerMatch() throws IOException {
+        List<String[]> joined = new ArrayList<>();
+        HashJoin join = new HashJoin(0, 1, true, Long.MAX_VALUE, folder.getRoot().toPath(), joined::add);
+        join.addReference(new String[] {"R&D", "eng", "B1"});
+        join.addReference(new String[] {"Ops", "eng"});
+        join.addReference(new String[] {"only-key-column-missing"});
+
+        join.accept(new String[] {"eng", "John"});
+        join.accept(new String[] {"mgr", "Bob"});
+        join.accept(new String[0]);
+        join.finish();
+
+        assertEquals(2, join.getReferenceCount());
+        assertEquals(1, join.getMatchedCount());
+        assertEquals(2, join.getUnmatchedCount());
+        assertArrayEquals(new String[] {"eng", "John", "R&D", "B1"}, joined.get(0));
+        assertArrayEquals(new String[] {"eng", "John", "Ops", ""}, joined.get(1));
+        assertArrayEquals(new String[] {"mgr", "Bob", "", ""}, joined.get(2));
+        assertArrayEquals(new String[] {"", ""}, joined.get(3));
+    }
+
+    /**
+     * Tests that the reference side is read through FileExtractor and transformed before indexing.
+     */
+    @Test
+    public void testBuild_ReferenceFile_TransformsKeys() throws IOException {
+        File reference = folder.newFile("titles.csv");
+        Files.write(reference.toPath(), " engineer ,R&D\ndesigner,Product\n".getBytes());
+        List<String[]> joined = new ArrayList<>();
+        HashJoin join = new HashJoin(1, 0, false, Long.MAX_VALUE, folder.getRoot().toPath(), joined::add);
+
+        int read = join.build(new FileExtractor(), reference.getAbsolutePath(), new DataTransformer()::transformRecord);
+        join.accept(new String[] {"JOHN", "ENGINEER"});
+        join.accept(new String[] {"BOB", "MANAGER"});
+
+        assertEquals(2, read);
+        assertEquals(1, joined.size());
+        assertArrayEquals(new String[] {"JOHN", "ENGINEER", "R&D"}, joined.get(0));
+    }
+
+    /**
+     * Tests that reference records cannot be added once probing has started.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAddReference_AfterProbing_ThrowsException() throws IOException {
+        HashJoin join = new HashJoin(0, 0, false, Long.MAX_VALUE, folder.getRoot().toPath(), record -> { });
+        join.accept(new String[] {"a"});
+
+        join.addReference(new String[] {"a", "b"});
+    }
+
+    /**
+     * Tests that closing a spilled join before finishing removes its partition files.
+     */
+    @Test
+    public void testClose_BeforeFinish_DeletesPartitionFiles() throws IOException {
+        File spillDir = folder.newFolder("spill");
+        try (HashJoin join = new HashJoin(0, 0, false, 1000, spillDir.toPath(), record -> { })) {
+            for (int i = 0; i < 100; i++) {
+                join.addReference(new String[] {"k" + i, "v"});
+            }
+            join.accept(new String[] {"k1"});
+
+            assertTrue(join.isSpilled());
+            assertEquals(1, spillDir.list().length);
+        }
+
+        assertArrayEquals(new String[0], spillDir.list());
+    }
+}
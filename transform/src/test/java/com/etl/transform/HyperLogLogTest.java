@@ -0,0 +1,77 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HyperLogLog class.
+ */
+public class HyperLogLogTest {
+
+    /**
+     * Tests that large cardinalities stay within a few standard errors (1.04 / sqrt(2^p)).
+     */
+    @Test
+    public void testEstimate_LargeCardinality_WithinErrorBound() {
+        for (int precision : new int[] {10, 14}) {
+            HyperLogLog sketch = new HyperLogLog(precision);
+            for (int i = 0; i < 500_000; i++) {
+                sketch.add("user" + i);
+                sketch.add("user" + (i / 2));
+            }
+            double standardError = 1.04 / Math.sqrt(1 << precision);
+
+            assertEquals(500_000, sketch.estimate(), 500_000 * 3 * standardError);
+        }
+    }
+
+    /**
+     * Tests that small cardinalities are nearly exact thanks to linear counting.
+     */
+    @Test
+    public void testEstimate_SmallCardinality_IsNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(Integer.toString(i % 100));
+        }
+
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    /**
+     * Tests that merging partitions gives exactly the estimate of a single sketch over the union.
+     */
+    @Test
+    public void testMerge_Partitions_MatchesSingleSketch() {
+        HyperLogLog single = new HyperLogLog(12);
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            String value = "v" + (i % 60_000);
+            single.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(single.estimate(), first.estimate());
+    }
+
+    /**
+     * Tests that sketches of different precision cannot be merged.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentPrecision_ThrowsException() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+
+    /**
+     * Tests that precision outside the supported range is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_PrecisionTooLarge_ThrowsException() {
+        new HyperLogLog(19);
+    }
+}
@@ -0,0 +1,106 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuantileSketch class.
+ */
+public class QuantileSketchTest {
+
+    private static List<Double> shuffled(int count, long seed) {
+        List<Double> values = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            values.add((double) i);
+        }
+        Collections.shuffle(values, new Random(seed));
+        return values;
+    }
+
+    /**
+     * Tests that ranks and quantiles of a long stream stay within 1% and memory stays bounded.
+     */
+    @Test
+    public void testQuantile_LongStream_WithinRankError() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : shuffled(1_000_000, 3)) {
+            sketch.add(value);
+        }
+
+        assertEquals(1_000_000, sketch.getCount());
+        // About 3k values are retained, however long the stream
+        assertTrue("Retained " + sketch.getRetainedCount(), sketch.getRetainedCount() < 4 * QuantileSketch.DEFAULT_K);
+        for (double fraction = 0.05; fraction < 1; fraction += 0.05) {
+            assertEquals(fraction, sketch.rank(fraction * 1_000_000), 0.01);
+            assertEquals(fraction * 1_000_000, sketch.quantile(fraction), 0.01 * 1_000_000);
+        }
+        assertEquals(1, sketch.quantile(0), 0);
+        assertEquals(1_000_000, sketch.quantile(1), 0);
+    }
+
+    /**
+     * Tests that compaction preserves total weight, so the rank of the maximum is exactly 1.
+     */
+    @Test
+    public void testCompact_ManyLevels_PreservesWeight() {
+        QuantileSketch sketch = new QuantileSketch(16);
+        for (int i = 1; i <= 100_001; i++) {
+            sketch.add(i % 977);
+            assertEquals(1.0, sketch.rank(Double.MAX_VALUE), 0);
+        }
+
+        assertTrue(sketch.getRetainedCount() < 100);
+        assertTrue(Double.isNaN(new QuantileSketch().rank(1)));
+        assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+    }
+
+    /**
+     * Tests that NaN values are ignored.
+     */
+    @Test
+    public void testAdd_NaN_IsIgnored() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(Double.NaN);
+        sketch.add(4);
+
+        assertEquals(1, sketch.getCount());
+        assertEquals(4, sketch.quantile(0.5), 0);
+    }
+
+    /**
+     * Tests that merged partitions preserve count, weight, extremes and rank accuracy.
+     */
+    @Test
+    public void testMerge_Partitions_MatchesSingleStream() {
+        QuantileSketch merged = new QuantileSketch();
+        QuantileSketch other = new QuantileSketch();
+        int i = 0;
+        for (double value : shuffled(300_000, 5)) {
+            (i++ % 3 == 0 ? merged : other).add(value);
+        }
+
+        merged.merge(other);
+        merged.merge(new QuantileSketch());
+
+        assertEquals(300_000, merged.getCount());
+        assertEquals(1.0, merged.rank(Double.MAX_VALUE), 0);
+        assertEquals(1, merged.quantile(0), 0);
+        assertEquals(300_000, merged.quantile(1), 0);
+        assertEquals(0.5, merged.rank(150_000), 0.01);
+        assertEquals(0.9, merged.rank(270_000), 0.01);
+    }
+
+    /**
+     * Tests that sketches of different accuracy cannot be merged.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentK_ThrowsException() {
+        new QuantileSketch(100).merge(new QuantileSketch(200));
+    }
+}
@@ -0,0 +1,168 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RecordPipeline class.
+ */
+public class RecordPipelineTest {
+
+    /**
+     * Tests that the identity pipeline returns every record as the same array.
+     */
+    @Test
+    public void testApply_Identity_ReturnsSameArray() {
+        String[] record = {"a", "b"};
+
+        assertSame(record, RecordPipeline.identity().apply(record));
+    }
+
+    /**
+     * Tests that steps appended with then run in order.
+     */
+    @Test
+    public void testThen_MultipleSteps_RunInOrder() {
+        RecordPipeline pipeline = RecordPipeline.identity()
+                .then(record -> new String[] {record[0] + "1"})
+                .then(record -> new String[] {record[0] + "2"});
+
+        assertArrayEquals(new String[] {"x12"}, pipeline.apply(new String[] {"x"}));
+    }
+
+    /**
+     * Tests that a step returning null drops the record and skips every later step.
+     */
+    @Test
+    public void testApply_NullStep_ShortCircuits() {
+        AtomicInteger laterCalls = new AtomicInteger();
+        RecordPipeline pipeline = RecordPipeline.identity()
+                .filter(record -> record.length > 1)
+                .map(record -> {
+                    laterCalls.incrementAndGet();
+                    return record;
+                });
+
+        assertNull(pipeline.apply(new String[] {"only"}));
+        assertEquals(0, laterCalls.get());
+        assertNotNull(pipeline.apply(new String[] {"a", "b"}));
+        assertEquals(1, laterCalls.get());
+    }
+
+    /**
+     * Tests that pipelines are immutable, so extending one leaves the original unchanged.
+     */
+    @Test
+    public void testThen_ExtendingPipeline_LeavesOriginalUnchanged() {
+        RecordPipeline base = RecordPipeline.identity().trim();
+        RecordPipeline extended = base.upperCase().minFieldCount(3);
+
+        assertArrayEquals(new String[] {"a"}, base.apply(new String[] {" a "}));
+        assertNull(extended.apply(new String[] {" a "}));
+    }
+
+    /**
+     * Tests that fused field steps copy a changed record once and leave the input untouched.
+     */
+    @Test
+    public void testApply_FieldSteps_CopyOnlyChangedRecords() {
+        RecordPipeline pipeline = RecordPipeline.identity().trim().upperCase();
+        String[] clean = {"A", "B"};
+        String[] dirty = {" a", "B"};
+
+        String[] result = pipeline.apply(dirty);
+
+        assertSame(clean, pipeline.apply(clean));
+        assertNotSame(dirty, result);
+        assertArrayEquals(new String[] {"A", "B"}, result);
+        assertSame(dirty[1], result[1]);
+        assertEquals(" a", dirty[0]);
+    }
+
+    /**
+     * Tests that normalize matches trim followed by upper case.
+     */
+    @Test
+    public void testNormalize_MixedFields_MatchesTrimThenUpperCase() {
+        String[] record = {" john ", "\u00e9t\u00e9", "OK", "  "};
+
+        assertArrayEquals(RecordPipeline.identity().trim().upperCase().apply(record),
+                RecordPipeline.identity().normalize().apply(record));
+    }
+
+    /**
+     * Tests that field functions receive the column index.
+     */
+    @Test
+    public void testMapFields_ColumnIndex_IsPassed() {
+        RecordPipeline pipeline = RecordPipeline.identity().mapFields((column, value) -> value + column);
+
+        assertArrayEquals(new String[] {"a0", "b1"}, pipeline.apply(new String[] {"a", "b"}));
+    }
+
+    /**
+     * Tests that run keeps input order and delivers only surviving records.
+     */
+    @Test
+    public void testRun_WithConsumer_DeliversSurvivorsInOrder() {
+        List<String[]> records = Arrays.asList(new String[] {"a", "1"}, new String[] {"b"}, new String[] {"c", "3"});
+        List<String[]> delivered = new ArrayList<>();
+
+        int count = RecordPipeline.identity().upperCase().minFieldCount(2).run(records, delivered::add);
+
+        assertEquals(2, count);
+        assertArrayEquals(new String[] {"A", "1"}, delivered.get(0));
+        assertArrayEquals(new String[] {"C", "3"}, delivered.get(1));
+        assertEquals(delivered.size(), RecordPipeline.identity().minFieldCount(2).run(records).size());
+    }
+
+    /**
+     * Tests that applyInPlace writes field results into the given array.
+     */
+    @Test
+    public void testApplyInPlace_FieldSteps_OverwriteInput() {
+        String[] record = {" a ", "b"};
+
+        String[] result = RecordPipeline.identity().normalize().applyInPlace(record);
+
+        assertSame(record, result);
+        assertArrayEquals(new String[] {"A", "B"}, record);
+    }
+
+    /**
+     * Tests that runInPlace moves survivors over dropped records with set and truncates the list.
+     */
+    @Test
+    public void testRunInPlace_DroppedRecords_CompactsList() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(i % 3 == 0 ? new String[] {"x" + i} : new String[] {" y" + i, "z"});
+        }
+        String[] second = records.get(1);
+
+        List<String[]> result = RecordPipeline.identity().normalize().minFieldCount(2).runInPlace(records);
+
+        assertSame(records, result);
+        assertEquals(6, records.size());
+        assertSame(second, records.get(0));
+        assertArrayEquals(new String[] {"Y1", "Z"}, records.get(0));
+        assertArrayEquals(new String[] {"Y8", "Z"}, records.get(5));
+    }
+
+    /**
+     * Tests that runInPlace rejects lists that cannot be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRunInPlace_UnmodifiableList_ThrowsException() {
+        List<String[]> records = Collections.unmodifiableList(Arrays.asList(new String[] {"a"}, new String[] {"b"}));
+
+        RecordPipeline.identity().upperCase().runInPlace(records);
+    }
+}
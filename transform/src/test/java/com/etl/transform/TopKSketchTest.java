@@ -0,0 +1,100 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for TopKSketch class.
+ */
+public class TopKSketchTest {
+
+    private static List<String> keys(List<Map.Entry<String, Long>> entries) {
+        List<String> keys = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Tests that the most frequent values are found in descending count order.
+     */
+    @Test
+    public void testGetTopK_SkewedStream_FindsHeavyHitters() {
+        TopKSketch sketch = new TopKSketch(3);
+        for (int i = 0; i < 50_000; i++) {
+            sketch.add("noise" + (i % 10_000));
+            if (i % 5 == 0) {
+                sketch.add("first");
+            }
+            if (i % 10 == 0) {
+                sketch.add("second");
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = sketch.getTopK();
+
+        assertEquals(3, top.size());
+        assertEquals("first", top.get(0).getKey());
+        assertEquals("second", top.get(1).getKey());
+        assertTrue(top.get(0).getValue() >= 10_000);
+        assertTrue(sketch.estimate("second") >= 5000);
+    }
+
+    /**
+     * Tests that a value becoming frequent only at the end of the stream still displaces earlier candidates.
+     */
+    @Test
+    public void testGetTopK_LateHeavyHitter_IsRecalled() {
+        TopKSketch sketch = new TopKSketch(5);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("early" + (i % 20));
+        }
+        for (int i = 0; i < 8000; i++) {
+            sketch.add("late");
+        }
+
+        List<Map.Entry<String, Long>> top = sketch.getTopK();
+
+        assertEquals("late", top.get(0).getKey());
+        assertTrue(top.get(0).getValue() >= 8000);
+    }
+
+    /**
+     * Tests that merging keeps heavy hitters that are only frequent in one partition.
+     */
+    @Test
+    public void testMerge_Partitions_KeepsHeavyHittersOfBoth() {
+        TopKSketch first = new TopKSketch(2);
+        TopKSketch second = new TopKSketch(2);
+        for (int i = 0; i < 20_000; i++) {
+            first.add("noise" + (i % 5000));
+            second.add("noise" + (i % 5000));
+            if (i % 4 == 0) {
+                first.add("left");
+                second.add("right");
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            second.add("left");
+        }
+
+        first.merge(second);
+
+        assertEquals(List.of("left", "right"), keys(first.getTopK()));
+        assertTrue(first.estimate("left") >= 6000);
+    }
+
+    /**
+     * Tests that sketches tracking a different number of values cannot be merged.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentK_ThrowsException() {
+        new TopKSketch(2).merge(new TopKSketch(3));
+    }
+}
@@ -0,0 +1,74 @@
+package com.etl.transform;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for WindowAggregator class.
+ */
+public class WindowAggregatorTest {
+
+    /**
+     * Tests that tumbling record-count windows emit as soon as they close and keep one window open.
+     */
+    @Test
+    public void testAccept_TumblingByRecords_EmitsOnClose() {
+        List<List<String[]>> emitted = new ArrayList<>();
+        WindowAggregator windows = new WindowAggregator(2, 2, -1, 0, 1, emitted::add);
+
+        windows.accept(new String[] {"a", "1"});
+        assertEquals(0, emitted.size());
+        windows.accept(new String[] {"b", "x"});
+        assertEquals(1, emitted.size());
+        assertArrayEquals(new String[] {"0", "2", "a", "1", "1", "1", "1", "1"}, emitted.get(0).get(0));
+        assertArrayEquals(new String[] {"0", "2", "b", "1", "", "", "", ""}, emitted.get(0).get(1));
+        windows.accept(new String[] {"a", "3"});
+        windows.flush();
+
+        assertEquals(2, windows.getEmittedWindowCount());
+        assertArrayEquals(new String[] {"2", "4", "a", "1", "3", "3", "3", "3"}, emitted.get(1).get(0));
+        assertEquals(0, windows.getOpenWindowCount());
+    }
+
+    /**
+     * Tests sliding time windows: overlapping membership, eviction of closed windows and late records.
+     */
+    @Test
+    public void testAccept_SlidingByTime_EvictsClosedWindowsAndDropsLateRecords() {
+        List<List<String[]>> emitted = new ArrayList<>();
+        WindowAggregator windows = new WindowAggregator(10, 5, 0, -1, -1, emitted::add);
+
+        windows.accept(new String[] {"3"});
+        assertEquals(2, windows.getOpenWindowCount());
+        windows.accept(new String[] {"7"});
+        assertEquals(1, emitted.size());
+        assertArrayEquals(new String[] {"-5", "5", "1"}, emitted.get(0).get(0));
+        windows.accept(new String[] {"12"});
+        assertEquals(2, emitted.size());
+        assertArrayEquals(new String[] {"0", "10", "2"}, emitted.get(1).get(0));
+        assertEquals(2, windows.getOpenWindowCount());
+
+        windows.accept(new String[] {"2"});
+        windows.accept(new String[] {"when"});
+        windows.flush();
+
+        assertEquals(1, windows.getLateCount());
+        assertEquals(1, windows.getSkippedCount());
+        assertEquals(4, emitted.size());
+        assertArrayEquals(new String[] {"5", "15", "2"}, emitted.get(2).get(0));
+        assertArrayEquals(new String[] {"10", "20", "1"}, emitted.get(3).get(0));
+        assertEquals(0, windows.getOpenWindowCount());
+    }
+
+    /**
+     * Tests that a slide longer than the window is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_SlideExceedsSize_ThrowsException() {
+        new WindowAggregator(5, 10, -1, -1, -1, rows -> { });
+    }
+}